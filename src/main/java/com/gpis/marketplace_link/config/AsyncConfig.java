@@ -6,6 +6,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -20,5 +21,19 @@ public class AsyncConfig {
         ex.initialize();
         return ex;
     }
+
+    // Subidas de imágenes en paralelo (FileStorageService.storeFiles). Si la cola se llena,
+    // el hilo de la petición sube la imagen él mismo en lugar de rechazarla.
+    @Bean
+    public Executor imageUploadExecutor() {
+        ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
+        ex.setThreadNamePrefix("image-upload-");
+        ex.setCorePoolSize(8);
+        ex.setMaxPoolSize(16);
+        ex.setQueueCapacity(200);
+        ex.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        ex.initialize();
+        return ex;
+    }
 }
 
@@ -0,0 +1,39 @@
+package com.gpis.marketplace_link.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra en Hibernate las funciones PostGIS usadas por los filtros geográficos
+ * de {@code PublicationSpecifications}.
+ *
+ * El punto de referencia se construye con {@code ST_MakePoint} a partir de parámetros
+ * enlazados (sin generar WKT) y las comparaciones se hacen sobre {@code geography}
+ * para que PostgreSQL pueda usar el índice GiST {@code idx_publications_location}.
+ *
+ * Se registra mediante META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class PostgisFunctionContributor implements FunctionContributor {
+
+    // ?1 = longitud, ?2 = latitud
+    private static final String POINT = "ST_SetSRID(ST_MakePoint(?1, ?2), 4326)::geography";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        // ?3 = columna geography, ?4 = radio en metros
+        functionContributions.getFunctionRegistry().registerPattern(
+                "geography_within",
+                "ST_DWithin(?3, " + POINT + ", ?4)",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+
+        // Operador KNN: ordena por distancia recorriendo el índice GiST. ?3 = columna geography
+        functionContributions.getFunctionRegistry().registerPattern(
+                "geography_knn_distance",
+                "(?3 <-> " + POINT + ")",
+                types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
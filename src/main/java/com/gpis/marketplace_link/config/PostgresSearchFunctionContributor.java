@@ -0,0 +1,42 @@
+package com.gpis.marketplace_link.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra en Hibernate las funciones de búsqueda de texto completo de PostgreSQL
+ * usadas por {@code PublicationSpecifications.matchesText}.
+ *
+ * El documento se construye con exactamente la misma expresión que el índice GIN
+ * {@code idx_publications_search} (ver db/migration/V1__initial_schema.sql); si una de las dos cambia,
+ * la otra debe cambiar también o PostgreSQL dejará de usar el índice.
+ *
+ * Se registra mediante META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class PostgresSearchFunctionContributor implements FunctionContributor {
+
+    // ?1 = nombre, ?2 = descripción
+    private static final String DOCUMENT =
+            "(setweight(to_tsvector('spanish', coalesce(?1, '')), 'A') || "
+                    + "setweight(to_tsvector('spanish', coalesce(?2, '')), 'B'))";
+
+    // ?3 = texto introducido por el usuario
+    private static final String QUERY = "websearch_to_tsquery('spanish', ?3)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                "publication_search_matches",
+                "(" + DOCUMENT + " @@ " + QUERY + ")",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                "publication_search_rank",
+                "ts_rank(" + DOCUMENT + ", " + QUERY + ")",
+                types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -4,6 +4,7 @@ public final class Messages {
 
     // === REPORTES ===
     public static final String REPORT_SUCCESS ="Reporte generado exitosamente.";
+    public static final String REPORT_ACCEPTED = "Reporte recibido, se procesará en unos instantes. Si la publicación entra en revisión antes, no se registrará.";
     public static final String PUBLICATION_UNDER_REVIEW_CANNOT_ADD_REPORT = "La publicación ya se encuentra bajo revisión, no se puede generar otro reporte.";
     public static final String INCIDENCE_APPEALED_CANNOT_ADD_REPORT = "No se puede agregar un reporte a una incidencia apelada.";
 
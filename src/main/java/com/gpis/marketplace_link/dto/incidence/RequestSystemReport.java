@@ -10,5 +10,6 @@ public class RequestSystemReport {
     private Long publicationId;
     private String reason;
     private String comment;
+    private Long dictionaryVersion;
 
 }
@@ -0,0 +1,10 @@
+package com.gpis.marketplace_link.dto.incidence.projections;
+
+import com.gpis.marketplace_link.enums.IncidenceStatus;
+
+public interface ActiveIncidenceProjection {
+
+    Long getId();
+    IncidenceStatus getStatus();
+    Boolean getCreated();
+}
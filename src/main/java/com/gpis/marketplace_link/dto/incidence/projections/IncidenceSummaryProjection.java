@@ -0,0 +1,21 @@
+package com.gpis.marketplace_link.dto.incidence.projections;
+
+import com.gpis.marketplace_link.enums.IncidenceDecision;
+import com.gpis.marketplace_link.enums.IncidenceStatus;
+import com.gpis.marketplace_link.enums.PublicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface IncidenceSummaryProjection {
+
+    UUID getIncidencePublicUi();
+    Boolean getIncidenceAutoclosed();
+    LocalDateTime getIncidenceCreatedAt();
+    IncidenceStatus getIncidenceStatus();
+    IncidenceDecision getIncidenceDecision();
+    Long getPublicationId();
+    String getPublicationName();
+    String getPublicationDescription();
+    PublicationStatus getPublicationStatus();
+}
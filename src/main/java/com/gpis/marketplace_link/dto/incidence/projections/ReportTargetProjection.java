@@ -0,0 +1,10 @@
+package com.gpis.marketplace_link.dto.incidence.projections;
+
+import com.gpis.marketplace_link.enums.IncidenceStatus;
+
+public interface ReportTargetProjection {
+
+    Long getVendorId();
+    // Estado de la incidencia activa de la publicación; null si no tiene ninguna
+    IncidenceStatus getIncidenceStatus();
+}
@@ -0,0 +1,6 @@
+package com.gpis.marketplace_link.dto.publication.projections;
+
+public interface DangerousWordProjection {
+    Long getVersion();
+    String getTerm();
+}
@@ -0,0 +1,10 @@
+package com.gpis.marketplace_link.dto.publication.response;
+
+import java.util.List;
+
+public record PublicationFeedResponse(
+        List<PublicationSummaryResponse> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {}
@@ -1,7 +1,13 @@
 package com.gpis.marketplace_link.dto.publication.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
 public record PublicationImageReponse(
         Long id,
-        String url
+        String url,
+        String thumbnailUrl,
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        Map<Integer, String> variants // ancho en px -> url
 ) {}
-
@@ -1,6 +1,7 @@
 package com.gpis.marketplace_link.dto.publication.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.gpis.marketplace_link.enums.PublicationAvailable;
 import com.gpis.marketplace_link.enums.PublicationType;
 
@@ -15,5 +16,7 @@ public record PublicationSummaryResponse(
                 PublicationAvailable availability,
                 @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MM/yyyy HH:mm") LocalDateTime publicationDate,
                 PublicationImageReponse image,
-                Boolean canReport) {
+                Boolean canReport,
+                // Solo presente cuando la búsqueda incluye lat/lon
+                @JsonInclude(JsonInclude.Include.NON_NULL) Double distanceKm) {
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.gpis.marketplace_link.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+        @NotBlank(message = "No se ha enviado el refresh token")
+        @JsonProperty("refresh_token")
+        String refreshToken
+) {
+}
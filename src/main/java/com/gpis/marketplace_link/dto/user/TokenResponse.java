@@ -0,0 +1,12 @@
+package com.gpis.marketplace_link.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record TokenResponse(
+        String token,
+        @JsonProperty("refresh_token")
+        String refreshToken,
+        @JsonProperty("expires_in")
+        long expiresIn
+) {
+}
@@ -46,6 +46,10 @@ public class Incidence {
     @Enumerated(EnumType.STRING)
     private IncidenceDecision decision; // por default es null
 
+    // Lo mantiene el trigger trg_reports_incidence_count; JPA solo lo lee
+    @Column(name = "report_count", nullable = false, insertable = false, updatable = false)
+    private Integer reportCount;
+
     @OneToMany(mappedBy = "incidence", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Report> reports;
 
@@ -0,0 +1,42 @@
+package com.gpis.marketplace_link.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "pending_reports")
+@Data
+public class PendingReport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "publication_id", nullable = false)
+    private Long publicationId;
+
+    @Column(name = "reporter_id", nullable = false)
+    private Long reporterId;
+
+    @Column(nullable = false, length = 100)
+    private String reason;
+
+    private String comment;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Si el vaciado falló, cuándo y por qué; estas filas ya no se reintentan
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @PrePersist
+    public void prePersist() {
+        createdAt = LocalDateTime.now();
+    }
+}
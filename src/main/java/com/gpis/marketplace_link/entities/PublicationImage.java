@@ -15,6 +15,10 @@ public class PublicationImage {
     @Column(nullable = false)
     private String path;
 
+    // Formato de las variantes (ImageVariant); null si solo existe el original
+    @Column(name = "variant_format", length = 10)
+    private String variantFormat;
+
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "publication_id", nullable = false)
     @JsonIgnore
@@ -39,6 +39,9 @@ public class Report {
     @Enumerated(EnumType.STRING)
     private ReportSource source; // fuente usuario o sistema
 
+    @Column(name = "dictionary_version")
+    private Long dictionaryVersion; // versión del diccionario en reportes del sistema
+
     @PrePersist()
     public void prePersist() {
         createdAt = LocalDateTime.now();
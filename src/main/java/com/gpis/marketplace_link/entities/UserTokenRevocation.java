@@ -0,0 +1,24 @@
+package com.gpis.marketplace_link.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "user_token_revocations")
+public class UserTokenRevocation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private LocalDateTime revokedBefore;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,64 @@
+package com.gpis.marketplace_link.enums;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Variantes que se generan de cada imagen subida. La ruta de cada variante se deriva de la ruta original,
+ * por lo que solo es necesario guardar el formato en publication_images.variant_format.
+ */
+public enum ImageVariant {
+    THUMBNAIL(160),
+    SMALL(480),
+    MEDIUM(960);
+
+    // "{base}_w{ancho}.{formato}", ver pathFor
+    private static final Pattern VARIANT_NAME = Pattern.compile("^(.*)_w(\\d+)\\.(?:webp|jpg)$");
+
+    // Extensiones que acepta ImageValidationService; las imágenes antiguas pueden tenerlas en mayúsculas
+    private static final List<String> ORIGINAL_EXTENSIONS = Stream.of("png", "jpg", "jpeg", "gif", "webp")
+            .flatMap(ext -> Stream.of(ext, ext.toUpperCase()))
+            .toList();
+
+    private final int width;
+
+    ImageVariant(int width) {
+        this.width = width;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * uploads: "abc.png" -> "abc_w480.webp"; Azure: ".../products/abc.png" -> ".../products/abc_w480.webp"
+     */
+    public String pathFor(String originalPath, String format) {
+        int dot = originalPath.lastIndexOf('.');
+        int slash = originalPath.lastIndexOf('/');
+        String base = dot > slash ? originalPath.substring(0, dot) : originalPath;
+        return base + "_w" + width + "." + format;
+    }
+
+    /**
+     * Paths posibles del original de una variante: "abc_w480.webp" -> "abc.png", "abc.jpg", ... con cualquiera
+     * de las extensiones permitidas. Vacío si {@code path} no es una variante.
+     */
+    public static List<String> originalPathsOf(String path) {
+        Matcher variant = VARIANT_NAME.matcher(path);
+        if (!variant.matches()) {
+            return List.of();
+        }
+        int width = Integer.parseInt(variant.group(2));
+        if (Arrays.stream(values()).noneMatch(value -> value.width == width)) {
+            return List.of();
+        }
+        String base = variant.group(1);
+        return ORIGINAL_EXTENSIONS.stream()
+                .map(ext -> base + "." + ext)
+                .toList();
+    }
+}
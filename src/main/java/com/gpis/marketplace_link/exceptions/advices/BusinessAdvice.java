@@ -15,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 @RestControllerAdvice
 @Order(1)
@@ -206,6 +207,35 @@ public class BusinessAdvice {
         return pd;
     }
 
+    @ExceptionHandler(ImageTooLargeException.class)
+    public ProblemDetail handleImageTooLarge(ImageTooLargeException ex) {
+        ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE, ex.getMessage());
+        pd.setTitle("Imagen demasiado grande");
+        return pd;
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ProblemDetail handleMaxUploadSizeExceeded(MaxUploadSizeExceededException ex) {
+        ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE,
+                "La solicitud supera el tamaño máximo permitido para la subida de archivos");
+        pd.setTitle("Imagen demasiado grande");
+        return pd;
+    }
+
+    @ExceptionHandler(UploadNotFoundException.class)
+    public ProblemDetail handleUploadNotFound(UploadNotFoundException ex) {
+        ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+        pd.setTitle("Archivo no encontrado");
+        return pd;
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursor(InvalidCursorException ex) {
+        ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        pd.setTitle("Cursor inválido");
+        return pd;
+    }
+
     @ExceptionHandler(PublicationCanNotDeleteException.class)
     public ProblemDetail handlePublicationCanNotDelete(PublicationCanNotDeleteException ex) {
         ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
@@ -277,4 +307,13 @@ public class BusinessAdvice {
         return pd;
     }
 
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ProblemDetail handleInvalidRefreshToken(InvalidRefreshTokenException ex, HttpServletRequest req) {
+        ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, ex.getMessage());
+        pd.setTitle("Refresh token inválido");
+        pd.setType(java.net.URI.create("https://example.com/errors/invalid-refresh-token"));
+        pd.setInstance(java.net.URI.create(req.getRequestURI()));
+        return pd;
+    }
+
 }
@@ -0,0 +1,7 @@
+package com.gpis.marketplace_link.exceptions.business.publications;
+
+public class ImageTooLargeException extends RuntimeException {
+    public ImageTooLargeException(String message) {
+        super(message);
+    }
+}
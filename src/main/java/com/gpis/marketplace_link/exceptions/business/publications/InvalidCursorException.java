@@ -0,0 +1,7 @@
+package com.gpis.marketplace_link.exceptions.business.publications;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.gpis.marketplace_link.exceptions.business.publications;
+
+public class UploadNotFoundException extends RuntimeException {
+    public UploadNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.gpis.marketplace_link.exceptions.business.users;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
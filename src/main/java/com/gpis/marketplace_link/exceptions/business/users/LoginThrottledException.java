@@ -0,0 +1,14 @@
+package com.gpis.marketplace_link.exceptions.business.users;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * El pool de verificación de contraseñas está saturado; el login se rechaza con 429
+ * en lugar de encolar más trabajo de BCrypt.
+ */
+public class LoginThrottledException extends AuthenticationException {
+
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
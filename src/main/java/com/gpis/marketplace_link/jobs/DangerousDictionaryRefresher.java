@@ -0,0 +1,27 @@
+package com.gpis.marketplace_link.jobs;
+
+import com.gpis.marketplace_link.services.publications.DangerousContentDetectedService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class DangerousDictionaryRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DangerousDictionaryRefresher.class);
+
+    private final DangerousContentDetectedService dangerousContentDetectedService;
+
+    // Si falla la recarga se conserva el diccionario vigente y se reintenta en la siguiente ejecución
+    @Scheduled(fixedDelayString = "${DANGEROUS_DICTIONARY_REFRESH_MS:30000}", initialDelayString = "${DANGEROUS_DICTIONARY_REFRESH_MS:30000}")
+    public void refreshDictionary() {
+        try {
+            dangerousContentDetectedService.refreshIfChanged();
+        } catch (Exception e) {
+            logger.warn("No se pudo recargar el diccionario de palabras peligrosas: {}", e.getMessage());
+        }
+    }
+}
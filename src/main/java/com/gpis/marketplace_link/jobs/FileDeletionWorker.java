@@ -0,0 +1,25 @@
+package com.gpis.marketplace_link.jobs;
+
+import com.gpis.marketplace_link.services.publications.FileDeletionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class FileDeletionWorker {
+
+    // Límite de lotes por ejecución para no acaparar el hilo del scheduler
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final FileDeletionService fileDeletionService;
+
+    @Scheduled(fixedDelayString = "${FILE_DELETION_INTERVAL_MS:10000}")
+    public void drainDeletionQueue() {
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            if (fileDeletionService.processBatch() == 0) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.gpis.marketplace_link.jobs;
+
+import com.gpis.marketplace_link.services.publications.OrphanFileCollector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class OrphanFileSweeper {
+
+    private final OrphanFileCollector orphanFileCollector;
+
+    // Por defecto solo informa; con ORPHAN_GC_DRY_RUN=false encola los huérfanos en file_deletions
+    @Value("${ORPHAN_GC_DRY_RUN:true}")
+    private boolean dryRun;
+
+    @Scheduled(cron = "${ORPHAN_GC_CRON:0 0 4 * * *}")
+    public void sweepOrphanFiles() {
+        orphanFileCollector.sweep(dryRun);
+    }
+}
@@ -0,0 +1,19 @@
+package com.gpis.marketplace_link.jobs;
+
+import com.gpis.marketplace_link.security.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class RefreshTokenCleaner {
+
+    private final RefreshTokenService refreshTokenService;
+
+    // segundos, minutos, horas, dias, mes, dia_semana
+    @Scheduled(cron = "${REFRESH_TOKEN_CLEANUP_CRON:0 30 3 * * *}")
+    public void deleteExpiredTokens() {
+        refreshTokenService.deleteExpired();
+    }
+}
@@ -0,0 +1,26 @@
+package com.gpis.marketplace_link.jobs;
+
+import com.gpis.marketplace_link.services.incidence.IncidenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class ReportBufferFlusher {
+
+    // Límite de lotes por ejecución para no acaparar el hilo del scheduler
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final IncidenceService incidenceService;
+
+    // Se ejecuta aunque el modo búfer esté desactivado, para vaciar lo que quedara encolado
+    @Scheduled(fixedDelayString = "${REPORT_BUFFER_FLUSH_MS:2000}")
+    public void flushReports() {
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            if (incidenceService.flushBufferedReports() == 0) {
+                return;
+            }
+        }
+    }
+}
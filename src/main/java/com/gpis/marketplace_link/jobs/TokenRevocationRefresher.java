@@ -0,0 +1,19 @@
+package com.gpis.marketplace_link.jobs;
+
+import com.gpis.marketplace_link.security.service.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class TokenRevocationRefresher {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    // Revocaciones hechas desde otras instancias; las propias se aplican al instante
+    @Scheduled(fixedDelayString = "${TOKEN_REVOCATION_REFRESH_MS:5000}")
+    public void refreshRevocations() {
+        tokenRevocationService.refresh();
+    }
+}
@@ -7,6 +7,7 @@ import com.gpis.marketplace_link.dto.publication.response.PublicationResponse;
 import com.gpis.marketplace_link.dto.publication.response.PublicationSummaryResponse;
 import com.gpis.marketplace_link.entities.Publication;
 import com.gpis.marketplace_link.entities.PublicationImage;
+import com.gpis.marketplace_link.enums.ImageVariant;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
@@ -17,7 +18,9 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Mapper(componentModel = "spring")
 public interface PublicationMapper {
@@ -28,6 +31,7 @@ public interface PublicationMapper {
 
     @Mapping(target = "image", expression = "java(firstImage(publication))")
     @Mapping(target = "canReport", ignore = true)
+    @Mapping(target = "distanceKm", ignore = true)
     PublicationSummaryResponse toSummaryResponse(Publication publication);
 
     @Mapping(target = "vendor", ignore = true)
@@ -44,7 +48,15 @@ public interface PublicationMapper {
     default PublicationImageReponse toPublicationImageResponse(PublicationImage image) {
         if (image == null)
             return null;
-        return new PublicationImageReponse(image.getId(), image.getPath());
+        String path = image.getPath();
+        String format = image.getVariantFormat();
+        if (path == null || format == null)
+            return new PublicationImageReponse(image.getId(), path, path, Map.of());
+
+        Map<Integer, String> variants = new LinkedHashMap<>();
+        for (ImageVariant variant : ImageVariant.values())
+            variants.put(variant.getWidth(), variant.pathFor(path, format));
+        return new PublicationImageReponse(image.getId(), path, ImageVariant.THUMBNAIL.pathFor(path, format), variants);
     }
 
     default PublicationImageReponse firstImage(Publication publication) {
@@ -58,6 +70,8 @@ public interface PublicationMapper {
 
     GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
 
+    double EARTH_RADIUS_KM = 6371.0088;
+
     default Point toPoint(Double latitude, Double longitude) {
         if (latitude == null || longitude == null)
             return null;
@@ -84,4 +98,16 @@ public interface PublicationMapper {
             return null;
         return publication.getLocation().getX();
     }
+
+    // Distancia (haversine, esfera media) entre la publicación y el punto de búsqueda.
+    default Double distanceKm(Publication publication, Double latitude, Double longitude) {
+        if (publication == null || publication.getLocation() == null || latitude == null || longitude == null)
+            return null;
+        double dLat = Math.toRadians(publication.getLocation().getY() - latitude);
+        double dLon = Math.toRadians(publication.getLocation().getX() - longitude);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(publication.getLocation().getY()))
+                * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1d, Math.sqrt(a)));
+    }
 }
@@ -0,0 +1,26 @@
+package com.gpis.marketplace_link.repositories;
+
+import com.gpis.marketplace_link.dto.publication.projections.DangerousWordProjection;
+import com.gpis.marketplace_link.entities.DangerousWord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface DangerousWordRepository extends JpaRepository<DangerousWord, Long> {
+
+    @Query(value = "SELECT version FROM dangerous_dictionary WHERE id = 1", nativeQuery = true)
+    Long findCurrentVersion();
+
+    /**
+     * Versión y términos activos en una sola sentencia, para que ambos salgan de la misma foto de la base.
+     * Siempre devuelve al menos una fila (term = null si el diccionario está vacío).
+     */
+    @Query(value = """
+            SELECT d.version AS version, w.term AS term
+            FROM dangerous_dictionary d
+            LEFT JOIN dangerous_words w ON w.active = true
+            WHERE d.id = 1
+            """, nativeQuery = true)
+    List<DangerousWordProjection> findActiveDictionary();
+}
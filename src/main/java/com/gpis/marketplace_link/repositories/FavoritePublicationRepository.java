@@ -43,6 +43,36 @@ public interface FavoritePublicationRepository extends JpaRepository<FavoritePub
     @Query(value = "UPDATE favorite_publications SET deleted = false WHERE publication_id = :publicationId", nativeQuery = true)
     int restoreAllByPublicationId(@Param("publicationId") Long publicationId);
 
+    /**
+     * Marca como eliminados todos los favoritos de las publicaciones activas de un vendedor.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+        UPDATE favorite_publications f
+        SET deleted = true
+        FROM publications p
+        WHERE f.publication_id = p.id
+          AND p.vendor_id = :vendorId
+          AND p.deleted_at IS NULL
+        """, nativeQuery = true)
+    int softDeleteAllByVendorId(@Param("vendorId") Long vendorId);
+
+    /**
+     * Restaura los favoritos de las publicaciones bloqueadas de un vendedor.
+     * Debe ejecutarse antes de restaurar el estado de las publicaciones.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+        UPDATE favorite_publications f
+        SET deleted = false
+        FROM publications p
+        WHERE f.publication_id = p.id
+          AND p.vendor_id = :vendorId
+          AND p.deleted_at IS NULL
+          AND p.status = 'BLOCKED'
+        """, nativeQuery = true)
+    int restoreAllBlockedByVendorId(@Param("vendorId") Long vendorId);
+
     /**
      * Recupera un favorite_publications por user_id y publication_id sin aplicar el comportamiento de soft-delete
      * (usa consulta nativa para asegurarse de leer incluso filas marcadas como deleted=true).
@@ -0,0 +1,75 @@
+package com.gpis.marketplace_link.repositories;
+
+import com.gpis.marketplace_link.entities.FileDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface FileDeletionRepository extends JpaRepository<FileDeletion, Long> {
+
+    /**
+     * Toma un lote de borrados vencidos y los marca como reclamados hasta {@code leaseUntil}, en una sola
+     * sentencia. SKIP LOCKED permite varias instancias procesando la cola a la vez sin tomar las mismas filas;
+     * al mover next_attempt_at al fin del plazo, una fila abandonada vuelve a estar vencida sola.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE file_deletions
+            SET next_attempt_at = :leaseUntil,
+                claimed_until = :leaseUntil
+            WHERE id IN (
+                SELECT id
+                FROM file_deletions
+                WHERE next_attempt_at <= :now
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *
+            """, nativeQuery = true)
+    List<FileDeletion> claimDueBatch(@Param("now") LocalDateTime now,
+                                     @Param("leaseUntil") LocalDateTime leaseUntil,
+                                     @Param("limit") int limit);
+
+    /**
+     * Aplaza los borrados en cola de un archivo que se va a reutilizar y de sus variantes (FileStorageService), para
+     * que el worker no los elimine antes de que la publicación que los reutiliza confirme su transacción. Las filas
+     * que un worker ya reclamó no se tocan: ver {@link #existsByPathInAndClaimedUntilAfter}.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query(value = """
+            UPDATE file_deletions
+            SET next_attempt_at = GREATEST(next_attempt_at, :until)
+            WHERE path IN (:paths)
+              AND (claimed_until IS NULL OR claimed_until <= :now)
+            """, nativeQuery = true)
+    int postponeByPaths(@Param("paths") Collection<String> paths,
+                        @Param("now") LocalDateTime now,
+                        @Param("until") LocalDateTime until);
+
+    // Hay un borrado de alguno de estos archivos en curso en algún worker
+    boolean existsByPathInAndClaimedUntilAfter(Collection<String> paths, LocalDateTime now);
+
+    // Devuelve una fila reclamada a la cola tras un fallo, con su próximo intento
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query(value = """
+            UPDATE file_deletions
+            SET attempts = :attempts,
+                next_attempt_at = :nextAttemptAt,
+                last_error = :lastError,
+                claimed_until = NULL
+            WHERE id = :id
+            """, nativeQuery = true)
+    int release(@Param("id") Long id,
+                @Param("attempts") int attempts,
+                @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                @Param("lastError") String lastError);
+}
@@ -60,6 +60,42 @@ public interface IncidenceRepository extends JpaRepository<Incidence, Long> {
     """, nativeQuery = true)
     int bulkAutoClose(@Param("autoCloseLimit") LocalDateTime autoCloseLimit);
 
+    /**
+     * Lee el número de reportes de una incidencia directamente de la base de datos.
+     * <p>
+     * La columna {@code report_count} la actualiza un trigger al insertar cada reporte, por lo que
+     * la entidad cargada en memoria puede estar desactualizada; esta consulta (nativa, fuerza el flush
+     * previo) devuelve el valor vigente sin inicializar la colección de reportes.
+     *
+     * @param incidenceId identificador de la incidencia.
+     * @return número de reportes asociados.
+     */
+    @Query(value = "SELECT report_count FROM incidences WHERE id = :incidenceId", nativeQuery = true)
+    int findReportCountById(@Param("incidenceId") Long incidenceId);
+
+    /**
+     * Crea la incidencia activa de una publicación o, si ya existe, la devuelve bloqueada.
+     * <p>
+     * El índice único parcial {@code ux_incidences_active_publication} actúa como árbitro: ante un conflicto
+     * el {@code DO UPDATE} (sin cambios reales) toma el bloqueo de fila, de modo que los reportes concurrentes
+     * sobre la misma publicación esperan al commit del anterior y leen su estado ya actualizado.
+     * Debe ejecutarse dentro de una transacción de escritura.
+     *
+     * @param publicationId el ID de la publicación.
+     * @param status estado con el que se crea la incidencia si no existe ninguna activa.
+     * @return id y estado de la incidencia activa, y si fue creada por esta llamada.
+     */
+    @Query(value = """
+        INSERT INTO incidences (publication_id, status)
+        VALUES (:publicationId, :status)
+        ON CONFLICT (publication_id) WHERE status IN ('OPEN', 'PENDING_REVIEW', 'UNDER_REVIEW', 'APPEALED')
+        DO UPDATE SET publication_id = EXCLUDED.publication_id
+        RETURNING id AS id,
+                  status AS status,
+                  (xmax = 0) AS created
+        """, nativeQuery = true)
+    ActiveIncidenceProjection upsertActiveIncidence(@Param("publicationId") Long publicationId, @Param("status") String status);
+
     /**
      * Busca una incidencia asociada a una publicación específica que se encuentre en alguno de los estados indicados.
      *
@@ -73,12 +109,25 @@ public interface IncidenceRepository extends JpaRepository<Incidence, Long> {
      */
     Optional<Incidence> findByPublicationIdAndStatusIn(Long publicationId, List<IncidenceStatus> status);
 
-    // Si el vendedor esta deshabilitado y la publicacion tiene fetch eager en el vendedor, esto muere.
+    // Colas de incidencias para moderadores. Se proyectan solo las columnas que muestra el listado
+    // (sin JOIN FETCH ni DISTINCT), así la paginación se resuelve en la base de datos con LIMIT/OFFSET
+    // y no se inicializan asociaciones perezosas de la publicación.
+    // El conteo mantiene el mismo JOIN para que el total coincida con las filas visibles.
+
     // Trae todas las incidencias sin revisar entre dos fechas
     @Query(
             value = """
-        SELECT DISTINCT i FROM Incidence i
-        JOIN FETCH i.publication p
+        SELECT i.publicUi AS incidencePublicUi,
+               i.autoclosed AS incidenceAutoclosed,
+               i.createdAt AS incidenceCreatedAt,
+               i.status AS incidenceStatus,
+               i.decision AS incidenceDecision,
+               p.id AS publicationId,
+               p.name AS publicationName,
+               p.description AS publicationDescription,
+               p.status AS publicationStatus
+        FROM Incidence i
+        JOIN i.publication p
         WHERE i.status IN (
             com.gpis.marketplace_link.enums.IncidenceStatus.OPEN,
             com.gpis.marketplace_link.enums.IncidenceStatus.PENDING_REVIEW
@@ -89,6 +138,7 @@ public interface IncidenceRepository extends JpaRepository<Incidence, Long> {
     """,
             countQuery = """
         SELECT COUNT(i) FROM Incidence i
+        JOIN i.publication p
         WHERE i.status IN (
             com.gpis.marketplace_link.enums.IncidenceStatus.OPEN,
             com.gpis.marketplace_link.enums.IncidenceStatus.PENDING_REVIEW
@@ -98,13 +148,22 @@ public interface IncidenceRepository extends JpaRepository<Incidence, Long> {
         AND i.createdAt BETWEEN :startDate AND :endDate
     """
     )
-    Page<Incidence> findAllUnreviewedWithDetailsBetween(Pageable pageable, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    Page<IncidenceSummaryProjection> findAllUnreviewedSummariesBetween(Pageable pageable, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
     // Todas las incidencias sin revisar sin filtro de fecha
     @Query(
             value = """
-        SELECT DISTINCT i FROM Incidence i
-        JOIN FETCH i.publication p
+        SELECT i.publicUi AS incidencePublicUi,
+               i.autoclosed AS incidenceAutoclosed,
+               i.createdAt AS incidenceCreatedAt,
+               i.status AS incidenceStatus,
+               i.decision AS incidenceDecision,
+               p.id AS publicationId,
+               p.name AS publicationName,
+               p.description AS publicationDescription,
+               p.status AS publicationStatus
+        FROM Incidence i
+        JOIN i.publication p
         WHERE i.status IN (
             com.gpis.marketplace_link.enums.IncidenceStatus.OPEN,
             com.gpis.marketplace_link.enums.IncidenceStatus.PENDING_REVIEW
@@ -114,6 +173,7 @@ public interface IncidenceRepository extends JpaRepository<Incidence, Long> {
     """,
             countQuery = """
         SELECT COUNT(i) FROM Incidence i
+        JOIN i.publication p
         WHERE i.status IN (
             com.gpis.marketplace_link.enums.IncidenceStatus.OPEN,
             com.gpis.marketplace_link.enums.IncidenceStatus.PENDING_REVIEW
@@ -122,40 +182,56 @@ public interface IncidenceRepository extends JpaRepository<Incidence, Long> {
         AND i.decision = com.gpis.marketplace_link.enums.IncidenceDecision.PENDING
     """
     )
-    Page<Incidence> findAllUnreviewedWithDetails(Pageable pageable);
-
+    Page<IncidenceSummaryProjection> findAllUnreviewedSummaries(Pageable pageable);
 
-    // Si el vendedor esta deshabilitado y la publicacion tiene fetch eager en el vendedor, esto muere
+    // Incidencias tomadas por el moderador entre dos fechas
     @Query(
-            value =
-                    """
-                    SELECT DISTINCT i FROM Incidence i
-                    JOIN FETCH i.publication p
-                    WHERE i.moderator.id = :userId
-                    AND i.createdAt BETWEEN :startDate AND :endDate
-                """,
-            countQuery = """
-        SELECT COUNT(i)
+            value = """
+        SELECT i.publicUi AS incidencePublicUi,
+               i.autoclosed AS incidenceAutoclosed,
+               i.createdAt AS incidenceCreatedAt,
+               i.status AS incidenceStatus,
+               i.decision AS incidenceDecision,
+               p.id AS publicationId,
+               p.name AS publicationName,
+               p.description AS publicationDescription,
+               p.status AS publicationStatus
         FROM Incidence i
+        JOIN i.publication p
         WHERE i.moderator.id = :userId
+        AND i.createdAt BETWEEN :startDate AND :endDate
+    """,
+            countQuery = """
+        SELECT COUNT(i) FROM Incidence i
+        JOIN i.publication p
+        WHERE i.moderator.id = :userId
+        AND i.createdAt BETWEEN :startDate AND :endDate
     """
     )
-    Page<Incidence> findAllReviewedWithDetailsBetween(Long userId, Pageable pageable, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    Page<IncidenceSummaryProjection> findAllReviewedSummariesBetween(@Param("userId") Long userId, Pageable pageable, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
     @Query(
-            value =
-                    """
-                    SELECT DISTINCT i FROM Incidence i
-                    JOIN FETCH i.publication p
-                    WHERE i.moderator.id = :userId
-                """,
-            countQuery = """
-        SELECT COUNT(i)
+            value = """
+        SELECT i.publicUi AS incidencePublicUi,
+               i.autoclosed AS incidenceAutoclosed,
+               i.createdAt AS incidenceCreatedAt,
+               i.status AS incidenceStatus,
+               i.decision AS incidenceDecision,
+               p.id AS publicationId,
+               p.name AS publicationName,
+               p.description AS publicationDescription,
+               p.status AS publicationStatus
         FROM Incidence i
+        JOIN i.publication p
+        WHERE i.moderator.id = :userId
+    """,
+            countQuery = """
+        SELECT COUNT(i) FROM Incidence i
+        JOIN i.publication p
         WHERE i.moderator.id = :userId
     """
     )
-    Page<Incidence> findAllReviewedWithDetails(Long userId, Pageable pageable);
+    Page<IncidenceSummaryProjection> findAllReviewedSummaries(@Param("userId") Long userId, Pageable pageable);
 
 
     /**
@@ -227,6 +303,21 @@ public interface IncidenceRepository extends JpaRepository<Incidence, Long> {
     )
     Optional<VendorIdProjection> findVendorIdByIncidencePublicUi(UUID publicUi);
 
+    /**
+     * Vendedor de la publicación y estado de su incidencia activa, en una sola lectura por índice.
+     * Lo usa el modo búfer para rechazar un reporte antes de encolarlo.
+     */
+    @Query(value = """
+        SELECT p.vendor_id AS vendorId,
+               i.status AS incidenceStatus
+        FROM publications p
+        LEFT JOIN incidences i
+               ON i.publication_id = p.id
+              AND i.status IN ('OPEN', 'PENDING_REVIEW', 'UNDER_REVIEW', 'APPEALED')
+        WHERE p.id = :publicationId
+        """, nativeQuery = true)
+    Optional<ReportTargetProjection> findReportTarget(@Param("publicationId") Long publicationId);
+
     Optional<Incidence> findByPublicUi(UUID publicUi);
 
     @Query(
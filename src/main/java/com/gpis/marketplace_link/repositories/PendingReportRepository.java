@@ -0,0 +1,56 @@
+package com.gpis.marketplace_link.repositories;
+
+import com.gpis.marketplace_link.entities.PendingReport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PendingReportRepository extends JpaRepository<PendingReport, Long> {
+
+    // Publicaciones con reportes pendientes, en orden de llegada del más antiguo
+    @Query(value = """
+            SELECT publication_id
+            FROM pending_reports
+            WHERE failed_at IS NULL
+            GROUP BY publication_id
+            ORDER BY MIN(id)
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findPendingPublicationIds(@Param("limit") int limit);
+
+    /**
+     * Bloquea el siguiente lote de reportes pendientes de una publicación. SKIP LOCKED permite varias
+     * instancias vaciando el búfer a la vez sin tomar las mismas filas.
+     */
+    @Query(value = """
+            SELECT *
+            FROM pending_reports
+            WHERE publication_id = :publicationId
+              AND failed_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PendingReport> lockPublicationBatch(@Param("publicationId") Long publicationId, @Param("limit") int limit);
+
+    // Aparta los reportes de un lote que no se pudo procesar (ids hasta maxId de esa publicación)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query(value = """
+            UPDATE pending_reports
+            SET failed_at = :failedAt,
+                last_error = :lastError
+            WHERE publication_id = :publicationId
+              AND failed_at IS NULL
+              AND id <= :maxId
+            """, nativeQuery = true)
+    int markFailed(@Param("publicationId") Long publicationId,
+                   @Param("maxId") Long maxId,
+                   @Param("failedAt") LocalDateTime failedAt,
+                   @Param("lastError") String lastError);
+}
@@ -2,6 +2,31 @@ package com.gpis.marketplace_link.repositories;
 
 import com.gpis.marketplace_link.entities.PublicationImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface PublicationImageRepository extends JpaRepository<PublicationImage, Long> {
+
+    /**
+     * Los archivos se guardan por contenido (sha256), por lo que varias imágenes pueden compartir path.
+     * Un archivo solo se puede borrar cuando ninguna publicación no eliminada referencia alguno de {@code paths}
+     * (el suyo o, para una variante, los posibles de su original).
+     */
+    @Query(value = """
+            SELECT EXISTS (
+                SELECT 1
+                FROM publication_images i
+                JOIN publications p ON p.id = i.publication_id
+                WHERE i.path IN (:paths)
+                  AND p.deleted_at IS NULL
+            )
+            """, nativeQuery = true)
+    boolean isReferencedByActivePublication(@Param("paths") Collection<String> paths);
+
+    // Paths del lote que tienen al menos una fila (OrphanFileCollector)
+    @Query(value = "SELECT DISTINCT path FROM publication_images WHERE path IN (:paths)", nativeQuery = true)
+    List<String> findExistingPaths(@Param("paths") Collection<String> paths);
 }
@@ -3,9 +3,12 @@ package com.gpis.marketplace_link.repositories;
 import com.gpis.marketplace_link.entities.Publication;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +22,65 @@ public interface PublicationRepository  extends JpaRepository<Publication, Long>
     where p.id = :id
     """)
     Optional<Publication> findByIdWithImages(@Param("id") Long id);
+
+    /**
+     * Bloquea todas las publicaciones activas de un vendedor guardando su estado anterior.
+     *
+     * @return número de publicaciones bloqueadas.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+        UPDATE publications
+        SET previous_status = status,
+            status = 'BLOCKED'
+        WHERE vendor_id = :vendorId
+          AND deleted_at IS NULL
+          AND status <> 'BLOCKED'
+        """, nativeQuery = true)
+    int blockAllByVendorId(@Param("vendorId") Long vendorId);
+
+    /**
+     * Devuelve las publicaciones bloqueadas de un vendedor a su estado anterior
+     * (o VISIBLE si no lo tenían registrado).
+     *
+     * @return número de publicaciones restauradas.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+        UPDATE publications
+        SET status = COALESCE(previous_status, 'VISIBLE'),
+            previous_status = NULL
+        WHERE vendor_id = :vendorId
+          AND deleted_at IS NULL
+          AND status = 'BLOCKED'
+        """, nativeQuery = true)
+    int restoreAllByVendorId(@Param("vendorId") Long vendorId);
+
+    /**
+     * Suspende, en una sola sentencia, un lote de publicaciones no suspendidas
+     * publicadas antes de la fecha de corte.
+     *
+     * Cada llamada se ejecuta en su propia transacción para que los lotes sean cortos;
+     * {@code SKIP LOCKED} evita esperar por filas bloqueadas por otras transacciones.
+     *
+     * @param cutoff fecha de publicación límite.
+     * @param batchSize número máximo de publicaciones a suspender en el lote.
+     * @return ids de las publicaciones suspendidas en este lote.
+     */
+    @Transactional
+    @Query(value = """
+        UPDATE publications
+        SET suspended = true
+        WHERE id IN (
+            SELECT id
+            FROM publications
+            WHERE publication_date < :cutoff
+              AND suspended = false
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id
+        """, nativeQuery = true)
+    List<Long> suspendBatchPublishedBefore(@Param("cutoff") LocalDateTime cutoff,
+                                           @Param("batchSize") int batchSize);
 }
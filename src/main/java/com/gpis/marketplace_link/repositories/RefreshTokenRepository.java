@@ -0,0 +1,44 @@
+package com.gpis.marketplace_link.repositories;
+
+import com.gpis.marketplace_link.entities.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Busca un refresh token bloqueando su fila: dos peticiones que rotan el mismo token a la vez
+     * se serializan, y la segunda lo encuentra ya revocado.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashForUpdate(@Param("tokenHash") String tokenHash);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+            UPDATE refresh_tokens
+            SET revoked_at = :now
+            WHERE family_id = :familyId AND revoked_at IS NULL
+            """, nativeQuery = true)
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+            UPDATE refresh_tokens
+            SET revoked_at = :now
+            WHERE user_id = :userId AND revoked_at IS NULL
+            """, nativeQuery = true)
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE expires_at < :before", nativeQuery = true)
+    int deleteExpiredBefore(@Param("before") LocalDateTime before);
+}
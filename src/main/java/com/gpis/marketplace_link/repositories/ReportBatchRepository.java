@@ -0,0 +1,22 @@
+package com.gpis.marketplace_link.repositories;
+
+import com.gpis.marketplace_link.entities.PendingReport;
+
+import java.util.List;
+
+/**
+ * Inserciones masivas de reportes que no pasan por el contexto de persistencia.
+ * <p>
+ * {@code reports} usa ids IDENTITY, con lo que Hibernate no puede agrupar sus INSERT;
+ * esta parte del repositorio los envía en un único lote JDBC.
+ */
+public interface ReportBatchRepository {
+
+    /**
+     * Inserta como reportes de usuario de la incidencia indicada los reportes pendientes recibidos.
+     *
+     * @param incidenceId incidencia a la que se agregan.
+     * @param reports reportes pendientes, conservando su fecha de recepción.
+     */
+    void insertUserReports(Long incidenceId, List<PendingReport> reports);
+}
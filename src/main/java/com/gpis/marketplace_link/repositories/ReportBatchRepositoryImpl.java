@@ -0,0 +1,32 @@
+package com.gpis.marketplace_link.repositories;
+
+import com.gpis.marketplace_link.entities.PendingReport;
+import com.gpis.marketplace_link.enums.ReportSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReportBatchRepositoryImpl implements ReportBatchRepository {
+
+    private static final String INSERT_REPORT = """
+            INSERT INTO reports (incidence_id, reporter_id, reason, comment, created_at, source)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertUserReports(Long incidenceId, List<PendingReport> reports) {
+        jdbcTemplate.batchUpdate(INSERT_REPORT, reports, reports.size(), (ps, report) -> {
+            ps.setLong(1, incidenceId);
+            ps.setLong(2, report.getReporterId());
+            ps.setString(3, report.getReason());
+            ps.setString(4, report.getComment());
+            ps.setTimestamp(5, Timestamp.valueOf(report.getCreatedAt()));
+            ps.setString(6, ReportSource.USER.name());
+        });
+    }
+}
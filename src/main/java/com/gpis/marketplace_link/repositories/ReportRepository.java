@@ -6,9 +6,11 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ReportRepository extends JpaRepository<Report, Long> {
+public interface ReportRepository extends JpaRepository<Report, Long>, ReportBatchRepository {
 
     @Query("""
                 SELECT COUNT(r)
@@ -32,4 +34,47 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
             """, nativeQuery = true)
     Optional<Report> findLastReportByReporterIdAndPublicationId(@Param("reporterId") Long reporterId,
             @Param("publicationId") Long publicationId);
+
+    /**
+     * Devuelve, de entre las publicaciones indicadas, aquellas que el usuario ha reportado
+     * desde la fecha dada. Permite resolver el flag {@code canReport} de toda una página
+     * de publicaciones en una sola consulta.
+     *
+     * @param reporterId identificador del usuario que reporta.
+     * @param publicationIds publicaciones de la página actual.
+     * @param since fecha a partir de la cual un reporte impide volver a reportar.
+     * @return ids de las publicaciones reportadas recientemente por el usuario.
+     */
+    @Query(value = """
+                SELECT DISTINCT i.publication_id
+                FROM reports r
+                INNER JOIN incidences i ON r.incidence_id = i.id
+                WHERE r.reporter_id = :reporterId AND
+                      i.publication_id IN (:publicationIds) AND
+                      r.created_at > :since
+            """, nativeQuery = true)
+    List<Long> findPublicationIdsReportedByReporterSince(@Param("reporterId") Long reporterId,
+            @Param("publicationIds") Collection<Long> publicationIds,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Devuelve, de entre los usuarios indicados, los que han reportado la publicación desde la fecha dada.
+     * Permite aplicar la regla de un reporte cada 24 horas a un lote de reportes con una sola consulta.
+     *
+     * @param publicationId publicación reportada.
+     * @param reporterIds usuarios del lote.
+     * @param since fecha a partir de la cual un reporte impide volver a reportar.
+     * @return ids de los usuarios que ya reportaron la publicación recientemente.
+     */
+    @Query(value = """
+                SELECT DISTINCT r.reporter_id
+                FROM reports r
+                INNER JOIN incidences i ON r.incidence_id = i.id
+                WHERE i.publication_id = :publicationId AND
+                      r.reporter_id IN (:reporterIds) AND
+                      r.created_at > :since
+            """, nativeQuery = true)
+    List<Long> findReporterIdsWhoReportedSince(@Param("publicationId") Long publicationId,
+            @Param("reporterIds") Collection<Long> reporterIds,
+            @Param("since") LocalDateTime since);
 }
@@ -0,0 +1,29 @@
+package com.gpis.marketplace_link.repositories;
+
+import com.gpis.marketplace_link.entities.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_tokens (token_id, expires_at, created_at)
+            VALUES (:tokenId, :expiresAt, :now)
+            ON CONFLICT (token_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("expiresAt") LocalDateTime expiresAt,
+                       @Param("now") LocalDateTime now);
+
+    @Query("SELECT t FROM RevokedToken t WHERE t.createdAt > :since AND t.expiresAt > :now")
+    List<RevokedToken> findActiveCreatedAfter(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM revoked_tokens WHERE expires_at < :before", nativeQuery = true)
+    int deleteExpiredBefore(@Param("before") LocalDateTime before);
+}
@@ -162,6 +162,16 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
         """, nativeQuery = true)
     int deactivateById(@Param("id") Long id);
 
+    // ====== REHASH DE CONTRASEÑA (cambio de coste de BCrypt) ======
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query(value = """
+        UPDATE users
+        SET password = :password
+        WHERE email = :email
+        """, nativeQuery = true)
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
     // ====== ACTIVAR USUARIO ======
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Transactional
@@ -0,0 +1,34 @@
+package com.gpis.marketplace_link.repositories;
+
+import com.gpis.marketplace_link.entities.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+    /**
+     * Registra (o adelanta) la fecha de corte de los tokens del usuario.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO user_token_revocations (user_id, revoked_before, updated_at)
+            VALUES (:userId, :revokedBefore, :now)
+            ON CONFLICT (user_id) DO UPDATE
+            SET revoked_before = GREATEST(user_token_revocations.revoked_before, EXCLUDED.revoked_before),
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("revokedBefore") LocalDateTime revokedBefore,
+               @Param("now") LocalDateTime now);
+
+    List<UserTokenRevocation> findByUpdatedAtAfter(LocalDateTime since);
+
+    // Cuando revoked_before es anterior al TTL máximo de un token ya no queda ningún token afectado
+    @Modifying
+    @Query(value = "DELETE FROM user_token_revocations WHERE revoked_before < :before", nativeQuery = true)
+    int deleteRevokedBefore(@Param("before") LocalDateTime before);
+}
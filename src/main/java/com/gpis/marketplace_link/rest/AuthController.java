@@ -1,11 +1,17 @@
 package com.gpis.marketplace_link.rest;
 
+import com.gpis.marketplace_link.dto.user.RefreshTokenRequest;
+import com.gpis.marketplace_link.dto.user.TokenResponse;
 import com.gpis.marketplace_link.dto.user.UserResponse;
 import com.gpis.marketplace_link.mappers.UserMapper;
 import com.gpis.marketplace_link.entities.User;
+import com.gpis.marketplace_link.security.service.AccessTokenDetails;
+import com.gpis.marketplace_link.security.service.RefreshTokenService;
 import com.gpis.marketplace_link.security.service.SecurityService;
+import com.gpis.marketplace_link.security.service.TokenRevocationService;
 import com.gpis.marketplace_link.services.user.EmailVerificationService;
 import com.gpis.marketplace_link.services.user.UserService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -24,6 +30,8 @@ public class AuthController {
     private final UserMapper userMapper;
     private final EmailVerificationService emailVerificationService;
     private final SecurityService securityService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     @GetMapping("/profile")
     public ResponseEntity<UserResponse> getProfile(Authentication authentication) {
@@ -33,6 +41,36 @@ public class AuthController {
         return ResponseEntity.ok(userMapper.toResponse(user));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refresh(@Valid @RequestBody RefreshTokenRequest req) {
+        return ResponseEntity.ok(refreshTokenService.rotate(req.refreshToken()));
+    }
+
+    /**
+     * Cierra la sesión: revoca la familia del refresh token enviado y, si la petición trae un access token
+     * válido, también ese token (jti). No exige autenticación: un cliente con el access token ya vencido
+     * debe poder revocar su refresh token. Sin ninguno de los dos responde 401.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(Authentication authentication,
+                                       @RequestBody(required = false) RefreshTokenRequest req) {
+        boolean hasAccessToken = authentication != null
+                && authentication.getDetails() instanceof AccessTokenDetails;
+        boolean hasRefreshToken = req != null && StringUtils.hasText(req.refreshToken());
+        if (!hasAccessToken && !hasRefreshToken) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        if (hasAccessToken) {
+            AccessTokenDetails details = (AccessTokenDetails) authentication.getDetails();
+            tokenRevocationService.revokeToken(details.tokenId(), details.expiresAtMillis());
+        }
+        if (hasRefreshToken) {
+            refreshTokenService.revoke(req.refreshToken());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/verify-email")
     public ResponseEntity<String> verifyEmail(@RequestParam(value = "token", required = false) String token) {
         if (!StringUtils.hasText(token)) {
@@ -11,6 +11,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -75,10 +77,22 @@ public class IncidenceController {
         return incidenceService.fetchByPublicUiForSellerNativeProjection(publicUi);
     }
 
+    /**
+     * Reporta una publicación.
+     * <p>
+     * Responde 200 con el reporte ya registrado o, con REPORT_BUFFER_ENABLED, 202 con el reporte encolado.
+     * En ambos modos se rechazan antes de responder: publicación inexistente (404), propia (403), incidencia
+     * en revisión (409) o apelada (400) y reporte repetido en menos de 24 horas (429). En modo búfer, un 202
+     * no garantiza el registro: si al procesarlo la incidencia ya no admite reportes o el usuario ya reportó
+     * la publicación (envíos simultáneos), el reporte se descarta sin aviso.
+     */
     @PreAuthorize("hasAnyRole('BUYER', 'SELLER')")
     @PostMapping("/report")
-    public ReportResponse report(@Valid @RequestBody RequestUserReport req) {
-        return incidenceService.reportByUser(req);
+    public ResponseEntity<ReportResponse> report(@Valid @RequestBody RequestUserReport req) {
+        ReportResponse response = incidenceService.reportByUser(req);
+        // En modo búfer el reporte solo queda encolado
+        HttpStatus status = incidenceService.isReportBufferEnabled() ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(response);
     }
 
     @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
@@ -2,13 +2,18 @@ package com.gpis.marketplace_link.rest;
 
 import com.gpis.marketplace_link.dto.publication.request.PublicationCreateRequest;
 import com.gpis.marketplace_link.dto.publication.request.PublicationUpdateRequest;
+import com.gpis.marketplace_link.dto.publication.response.PublicationFeedResponse;
 import com.gpis.marketplace_link.dto.publication.response.PublicationResponse;
 import com.gpis.marketplace_link.dto.publication.response.PublicationSummaryResponse;
 import com.gpis.marketplace_link.services.publications.PublicationService;
+import com.gpis.marketplace_link.services.publications.valueObjects.PublicationCursor;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +27,9 @@ import java.util.List;
 @RequestMapping("/api/publications")
 public class PublicationController {
 
+    // Tope del feed: el servicio pide size + 1 filas por página
+    private static final int MAX_FEED_SIZE = 100;
+
     private final PublicationService service;
 
     public PublicationController(PublicationService service) {
@@ -32,22 +40,52 @@ public class PublicationController {
     public ResponseEntity<Page<PublicationSummaryResponse>> getAll(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) List<Long> categoryIds,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) Double lat,
             @RequestParam(required = false) Double lon,
-            @RequestParam(required = false) Double distanceKm
+            @RequestParam(required = false) Double distanceKm,
+            @RequestParam(defaultValue = "false") boolean sortByDistance
     ) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "publicationDate"));
 
         Page<PublicationSummaryResponse> response = service.getAll(
-                pageable, categoryIds, minPrice, maxPrice, lat, lon, distanceKm
+                pageable, q, categoryIds, minPrice, maxPrice, lat, lon, distanceKm, sortByDistance
         );
 
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<PublicationFeedResponse> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = "El tamaño de página debe ser al menos 1")
+            @Max(value = MAX_FEED_SIZE, message = "El tamaño de página no puede superar " + MAX_FEED_SIZE)
+            int size,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) List<Long> categoryIds,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double distanceKm
+    ) {
+        Slice<PublicationSummaryResponse> slice = service.getFeed(
+                cursor, size, q, categoryIds, minPrice, maxPrice, lat, lon, distanceKm
+        );
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            PublicationSummaryResponse last = slice.getContent().getLast();
+            nextCursor = new PublicationCursor(last.publicationDate(), last.id()).encode();
+        }
+
+        return ResponseEntity.ok(new PublicationFeedResponse(slice.getContent(), slice.getSize(), slice.hasNext(), nextCursor));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PublicationResponse> getOne(@PathVariable Long id){
 
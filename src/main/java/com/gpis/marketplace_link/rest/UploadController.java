@@ -0,0 +1,84 @@
+package com.gpis.marketplace_link.rest;
+
+import com.gpis.marketplace_link.exceptions.business.publications.UploadNotFoundException;
+import com.gpis.marketplace_link.services.publications.FileStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Sirve las imágenes del almacenamiento local (uploads/).
+ * <p>
+ * Los nombres son inmutables (sha256 del contenido, o UUID en imágenes antiguas), así que se cachean un año y el
+ * ETag es el propio nombre. Las respuestas completas se envían con sendfile de Tomcat cuando el conector lo
+ * soporta, sin copiar el archivo por el hilo de la petición; las peticiones Range devuelven 206 con el fragmento.
+ */
+@RestController
+public class UploadController {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // Por debajo de este tamaño sendfile no compensa (mismo umbral que el DefaultServlet de Tomcat)
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024L;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final FileStorageService fileStorageService;
+
+    public UploadController(FileStorageService fileStorageService) {
+        this.fileStorageService = fileStorageService;
+    }
+
+    // La ruta raíz se mantiene por compatibilidad con las URLs que servía antes static-locations
+    @GetMapping({"/uploads/{fileName}", "/{fileName:(?i).+\\.(?:jpg|jpeg|png|gif|webp)}"})
+    public ResponseEntity<Resource> serve(@PathVariable String fileName, WebRequest webRequest,
+                                          HttpServletRequest request) throws IOException {
+
+        Path file = fileStorageService.resolveLocalFile(fileName)
+                .orElseThrow(() -> new UploadNotFoundException("Archivo no encontrado: " + fileName));
+
+        String eTag = "\"" + fileName + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        long size = Files.size(file);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(CACHE_CONTROL);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setContentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM));
+
+        if (canSendfile(request, size)) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return ResponseEntity.ok().headers(headers).contentLength(size).build();
+        }
+
+        // Spring responde 206 con ResourceRegion si la petición trae Range
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
+    }
+
+    private boolean canSendfile(HttpServletRequest request, long size) {
+        return "GET".equals(request.getMethod())
+                && request.getHeader(HttpHeaders.RANGE) == null
+                && size >= SENDFILE_MIN_SIZE
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT));
+    }
+}
@@ -1,5 +1,6 @@
 package com.gpis.marketplace_link.security.common;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -8,9 +9,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class CommonSecurityBeans {
 
+    /**
+     * Coste de BCrypt configurable (PASSWORD_BCRYPT_STRENGTH, 4..31). Si se sube, los hashes con
+     * un coste menor se regeneran en el siguiente login correcto (ver UserDetailServiceImp#updatePassword).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${PASSWORD_BCRYPT_STRENGTH:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
-}
\ No newline at end of file
+}
@@ -2,6 +2,10 @@ package com.gpis.marketplace_link.security.config;
 
 import com.gpis.marketplace_link.security.filters.JwtAuthenticationFilter;
 import com.gpis.marketplace_link.security.filters.JwtAuthorizationFilter;
+import com.gpis.marketplace_link.security.service.JwtTokenService;
+import com.gpis.marketplace_link.security.service.PasswordVerificationService;
+import com.gpis.marketplace_link.security.service.RefreshTokenService;
+import com.gpis.marketplace_link.security.service.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,6 +40,10 @@ import org.springframework.web.cors.CorsConfigurationSource;
 public class DevSecurityConfig {
 
     private final CorsConfigurationSource corsConfigurationSource;
+    private final JwtTokenService jwtTokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordVerificationService passwordVerificationService;
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration cfg) throws Exception {
@@ -45,17 +53,20 @@ public class DevSecurityConfig {
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationManager authManager) throws Exception {
 
-        JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(authManager);
+        JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(authManager, jwtTokenService, refreshTokenService,
+                passwordVerificationService);
         jwtAuthenticationFilter.setFilterProcessesUrl("/api/auth/login");
 
         http
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/refresh").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/logout").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/users/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/auth/password-reset/**").permitAll()
                         .anyRequest().permitAll())
                 .addFilter(jwtAuthenticationFilter)
-                .addFilter(new JwtAuthorizationFilter(authManager))
+                .addFilter(new JwtAuthorizationFilter(authManager, tokenRevocationService))
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .sessionManagement(management ->
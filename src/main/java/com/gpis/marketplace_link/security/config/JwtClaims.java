@@ -0,0 +1,104 @@
+package com.gpis.marketplace_link.security.config;
+
+import com.gpis.marketplace_link.security.user.GrantedAuthorityCache;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formato compacto (versión 2) de los claims del token JWT.
+ *
+ * Un token v2 solo lleva:
+ * - "v": versión del formato (2).
+ * - "uid": id numérico del usuario.
+ * - "rol": máscara de bits con los roles conocidos (ver {@link #ROLE_BITS}).
+ * - "rx": nombres de roles que no tienen bit asignado; solo aparece si hace falta.
+ *
+ * Los tokens sin "v" son del formato anterior ("userId", subject y "authorities")
+ * y se siguen aceptando mientras no hayan expirado.
+ */
+public final class JwtClaims {
+
+    private JwtClaims() {
+    }
+
+    public static final String VERSION = "v";
+    public static final String USER_ID = "uid";
+    public static final String ROLES = "rol";
+    public static final String EXTRA_ROLES = "rx";
+
+    public static final int CURRENT_VERSION = 2;
+
+    // Formato anterior
+    public static final String LEGACY_USER_ID = "userId";
+    public static final String LEGACY_AUTHORITIES = "authorities";
+
+    // El orden define el bit de cada rol: no reordenar ni quitar entradas, solo agregar al final
+    private static final List<String> ROLE_BITS = List.of(
+            "ROLE_ADMIN",
+            "ROLE_MODERATOR",
+            "ROLE_SELLER",
+            "ROLE_BUYER"
+    );
+
+    // Autoridades ya resueltas para cada combinación posible de la máscara
+    private static final List<List<GrantedAuthority>> AUTHORITIES_BY_MASK = precomputeAuthorities();
+
+    /**
+     * Construye los claims v2 para un usuario y sus roles.
+     */
+    public static Map<String, Object> encode(Long userId, Collection<String> roles) {
+        int mask = 0;
+        List<String> extra = new ArrayList<>();
+        for (String role : roles) {
+            int bit = ROLE_BITS.indexOf(role);
+            if (bit >= 0) {
+                mask |= 1 << bit;
+            } else {
+                extra.add(role);
+            }
+        }
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(VERSION, CURRENT_VERSION);
+        claims.put(USER_ID, userId);
+        claims.put(ROLES, mask);
+        if (!extra.isEmpty()) {
+            claims.put(EXTRA_ROLES, extra);
+        }
+        return claims;
+    }
+
+    /**
+     * Convierte la máscara (y los roles extra, si los hay) en autoridades de Spring Security.
+     */
+    public static List<GrantedAuthority> decodeRoles(Integer mask, Object extraRoles) {
+        List<GrantedAuthority> known = mask == null
+                ? List.of()
+                : AUTHORITIES_BY_MASK.get(mask & (AUTHORITIES_BY_MASK.size() - 1));
+        if (!(extraRoles instanceof Collection<?> extra) || extra.isEmpty()) {
+            return known;
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(known);
+        extra.forEach(role -> authorities.add(GrantedAuthorityCache.of(role.toString())));
+        return List.copyOf(authorities);
+    }
+
+    private static List<List<GrantedAuthority>> precomputeAuthorities() {
+        List<List<GrantedAuthority>> byMask = new ArrayList<>();
+        for (int mask = 0; mask < 1 << ROLE_BITS.size(); mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (int bit = 0; bit < ROLE_BITS.size(); bit++) {
+                if ((mask & (1 << bit)) != 0) {
+                    authorities.add(GrantedAuthorityCache.of(ROLE_BITS.get(bit)));
+                }
+            }
+            byMask.add(List.copyOf(authorities));
+        }
+        return List.copyOf(byMask);
+    }
+}
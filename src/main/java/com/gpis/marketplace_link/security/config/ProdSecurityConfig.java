@@ -2,6 +2,10 @@ package com.gpis.marketplace_link.security.config;
 
 import com.gpis.marketplace_link.security.filters.JwtAuthenticationFilter;
 import com.gpis.marketplace_link.security.filters.JwtAuthorizationFilter;
+import com.gpis.marketplace_link.security.service.JwtTokenService;
+import com.gpis.marketplace_link.security.service.PasswordVerificationService;
+import com.gpis.marketplace_link.security.service.RefreshTokenService;
+import com.gpis.marketplace_link.security.service.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,9 +43,15 @@ import org.springframework.web.cors.CorsConfigurationSource;
 public class ProdSecurityConfig {
 
     private final CorsConfigurationSource corsConfigurationSource;
+    private final JwtTokenService jwtTokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordVerificationService passwordVerificationService;
 
     private static final String[] WHITELIST = {
             "/login",
+            "/api/auth/refresh",
+            "/api/auth/logout", // con el access token ya vencido basta el refresh token
             "/api/users/**",
             "/api/auth/password/**",
             "/api/auth/resend-verification", "/api/auth/verify-email/resend",
@@ -73,8 +83,9 @@ public class ProdSecurityConfig {
                         .requestMatchers(WHITELIST).permitAll()
                         .requestMatchers(HttpMethod.GET, WHITELIST_GET).permitAll()
                         .anyRequest().authenticated())
-                .addFilter(new JwtAuthenticationFilter(authManager))
-                .addFilter(new JwtAuthorizationFilter(authManager))
+                .addFilter(new JwtAuthenticationFilter(authManager, jwtTokenService, refreshTokenService,
+                        passwordVerificationService))
+                .addFilter(new JwtAuthorizationFilter(authManager, tokenRevocationService))
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(management ->
                         management.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
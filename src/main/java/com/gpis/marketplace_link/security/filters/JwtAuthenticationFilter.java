@@ -1,13 +1,17 @@
 package com.gpis.marketplace_link.security.filters;
 
 import com.gpis.marketplace_link.entities.User;
+import com.gpis.marketplace_link.exceptions.business.users.LoginThrottledException;
 import com.gpis.marketplace_link.security.user.CustomUserDetails;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.gpis.marketplace_link.security.service.JwtTokenService;
+import com.gpis.marketplace_link.security.service.PasswordVerificationService;
+import com.gpis.marketplace_link.security.service.RefreshTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,9 +23,8 @@ import org.springframework.security.core.GrantedAuthority;
 import static com.gpis.marketplace_link.security.config.TokenJwtConfig.*;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -36,15 +39,31 @@ import java.util.Map;
  */
 public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
+    // Lector y escritor compartidos: son inmutables y seguros entre hilos
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader LOGIN_READER = MAPPER.readerFor(User.class);
+    private static final ObjectWriter BODY_WRITER = MAPPER.writer();
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     private final AuthenticationManager authenticationManager;
+    private final JwtTokenService jwtTokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordVerificationService passwordVerificationService;
 
-    public JwtAuthenticationFilter(AuthenticationManager authenticationManager) {
+    public JwtAuthenticationFilter(AuthenticationManager authenticationManager, JwtTokenService jwtTokenService,
+                                   RefreshTokenService refreshTokenService,
+                                   PasswordVerificationService passwordVerificationService) {
         this.authenticationManager = authenticationManager;
+        this.jwtTokenService = jwtTokenService;
+        this.refreshTokenService = refreshTokenService;
+        this.passwordVerificationService = passwordVerificationService;
     }
 
     /**
      * Intenta autenticar al usuario leyendo las credenciales desde el cuerpo
      * de la petición HTTP. Espera un objeto JSON con los campos "email" y "password".
+     * La verificación de la contraseña se delega al pool acotado de PasswordVerificationService.
      *
      * @param request  petición HTTP que contiene las credenciales del usuario
      * @param response respuesta HTTP (no se usa en esta fase)
@@ -59,7 +78,7 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         String password = null;
 
         try {
-            user = new ObjectMapper().readValue(request.getInputStream(), User.class);
+            user = LOGIN_READER.readValue(request.getInputStream());
             userName = user.getEmail();
             password = user.getPassword();
         } catch (IOException e) {
@@ -68,15 +87,15 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userName,
                 password);
-        return authenticationManager.authenticate(authenticationToken);
+        return passwordVerificationService.authenticate(authenticationManager, authenticationToken);
     }
 
     /**
      * Método ejecutado cuando la autenticación es exitosa.
      *
      * Crea el token JWT con la información del usuario autenticado
-     * (nombre, ID y roles), lo agrega a la cabecera de la respuesta y
-     * también lo devuelve en el cuerpo en formato JSON.
+     * (ID y roles, en el formato compacto de JwtClaims), lo agrega a la cabecera de la respuesta y
+     * también lo devuelve en el cuerpo en formato JSON junto con un refresh token.
      *
      * @param request  petición original
      * @param response respuesta HTTP donde se añade el JWT
@@ -92,33 +111,31 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         String username = user.getUsername();
         Long userId = user.getId();
 
-        Collection<? extends GrantedAuthority> authorities = authResult.getAuthorities();
-        Claims claims = Jwts.claims()
-                .add("authorities", new ObjectMapper().writeValueAsString(authorities))
-                .add("userId", userId)
-                .build();
+        List<String> roles = authResult.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
 
-        String jwt = Jwts.builder()
-                .subject(username)
-                .claims(claims)
-                .expiration(new Date(System.currentTimeMillis() + 3600000))
-                .issuedAt(new Date())
-                .signWith(SECRET_KEY)
-                .compact();
+        // Access token de vida corta; el refresh token permite renovarlo sin repetir el login
+        String jwt = jwtTokenService.createAccessToken(userId, roles);
+        String refreshToken = refreshTokenService.issue(user);
 
         response.addHeader(HEADER_AUTHORIZATION, PREFIX_TOKEN + jwt);
 
         Map<String, String> body = new HashMap<>();
         body.put("token", jwt);
+        body.put("refresh_token", refreshToken);
+        body.put("expires_in", String.valueOf(jwtTokenService.getAccessTokenTtlSeconds()));
         body.put("username", username);
         body.put("message", String.format("Hello %s, you have been started session with sucessfully", username));
 
-        response.getWriter().write(new ObjectMapper().writeValueAsString(body));
+        response.getWriter().write(BODY_WRITER.writeValueAsString(body));
         response.setContentType(CONTENT_TYPE);
         response.setStatus(200);
     }
 
     /**
+     * Responde 401, o 429 con Retry-After si el pool de verificación estaba saturado.
+     *
      * @param request  petición original
      * @param response respuesta HTTP donde se envía el mensaje de error
      * @param failed   excepción lanzada por la autenticación fallida
@@ -128,8 +145,13 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                                               AuthenticationException failed) throws IOException, ServletException {
         Map<String, String> body = new HashMap<>();
         String message = "Email o contraseña inválidos.";
+        int status = HttpServletResponse.SC_UNAUTHORIZED;
 
-        if (failed instanceof org.springframework.security.authentication.LockedException) {
+        if (failed instanceof LoginThrottledException) {
+            message = "Hay demasiados inicios de sesión en curso. Intenta nuevamente en unos segundos.";
+            status = 429;
+            response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+        } else if (failed instanceof org.springframework.security.authentication.LockedException) {
             message = "Tu cuenta está bloqueada. Contacta al administrador.";
         } else if (failed instanceof org.springframework.security.authentication.DisabledException) {
             message = "Tu cuenta está pendiente de verificación. Revisa tu correo.";
@@ -138,8 +160,8 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         body.put("message", message);
         body.put("error", failed.getMessage());
 
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setStatus(status);
         response.setContentType(CONTENT_TYPE);
-        response.getWriter().write(new ObjectMapper().writeValueAsString(body));
+        response.getWriter().write(BODY_WRITER.writeValueAsString(body));
     }
 }
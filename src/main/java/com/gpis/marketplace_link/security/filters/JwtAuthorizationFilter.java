@@ -1,11 +1,18 @@
 package com.gpis.marketplace_link.security.filters;
 
 import com.gpis.marketplace_link.entities.User;
+import com.gpis.marketplace_link.security.config.JwtClaims;
+import com.gpis.marketplace_link.security.filters.VerifiedTokenCache.VerifiedToken;
+import com.gpis.marketplace_link.security.service.AccessTokenDetails;
+import com.gpis.marketplace_link.security.service.TokenRevocationService;
 import com.gpis.marketplace_link.security.user.CustomUserDetails;
+import com.gpis.marketplace_link.security.user.GrantedAuthorityCache;
 import com.gpis.marketplace_link.security.user.SimpleGrantedAuthorityJsonCreator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -21,6 +28,7 @@ import org.springframework.security.web.authentication.www.BasicAuthenticationFi
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import static com.gpis.marketplace_link.security.config.TokenJwtConfig.*;
 
@@ -35,11 +43,31 @@ import static com.gpis.marketplace_link.security.config.TokenJwtConfig.*;
  * de Spring (SecurityContextHolder).
  *
  * Si el token es inválido o no está presente, la petición continúa sin usuario autenticado.
+ *
+ * El parser, el lector JSON y las autoridades se comparten entre peticiones, y los tokens ya
+ * verificados se guardan (por hash) hasta su expiración, así una petición con un token conocido
+ * no vuelve a verificar la firma ni a decodificar los claims. Los tokens revocados
+ * ({@link TokenRevocationService}) se rechazan aunque estén en esa caché.
  */
 public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
 
-    public JwtAuthorizationFilter(AuthenticationManager authenticationManager) {
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    // JwtParser es inmutable y seguro entre hilos
+    private static final JwtParser PARSER = Jwts.parser().verifyWith(SECRET_KEY).build();
+
+    // Tokens anteriores guardaban las autoridades como texto JSON: [{"authority":"ROLE_SELLER"}]
+    private static final ObjectReader LEGACY_AUTHORITIES_READER = new ObjectMapper()
+            .addMixIn(SimpleGrantedAuthority.class, SimpleGrantedAuthorityJsonCreator.class)
+            .readerFor(SimpleGrantedAuthority[].class);
+
+    private final VerifiedTokenCache verifiedTokens = new VerifiedTokenCache(MAX_CACHED_TOKENS);
+    private final TokenRevocationService tokenRevocationService;
+
+    public JwtAuthorizationFilter(AuthenticationManager authenticationManager,
+                                  TokenRevocationService tokenRevocationService) {
         super(authenticationManager);
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     /**
@@ -49,7 +77,8 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
      * Pasos principales:
      * 1. Lee la cabecera "Authorization".
      * 2. Si existe y comienza con el prefijo configurado (por ejemplo, "Bearer "),
-     *    extrae el token y lo valida usando la clave secreta.
+     *    busca el token en la caché de tokens verificados o, si no está, lo valida
+     *    usando la clave secreta.
      * 3. Si el token es válido, obtiene el usuario y sus roles, y los establece
      *    en el contexto de seguridad.
      * 4. Si no hay token o es inválido, la petición sigue sin autenticación.
@@ -73,30 +102,84 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
 
         String token = header.substring(PREFIX_TOKEN.length()).trim();
         try {
-            Claims claims = Jwts.parser().verifyWith(SECRET_KEY).build().parseSignedClaims(token).getPayload();
-            String username = claims.getSubject();
-            Long userId = claims.get("userId", Long.class);
-            Object authoritiesClaims = claims.get("authorities");
+            String tokenHash = VerifiedTokenCache.hash(token);
+            VerifiedToken verified = verifiedTokens.get(tokenHash);
+            if (verified == null) {
+                verified = verify(token);
+                verifiedTokens.put(tokenHash, verified);
+            }
 
-            Collection<? extends GrantedAuthority> authorities = Arrays.asList(
-                    new ObjectMapper()
-                            .addMixIn(SimpleGrantedAuthority.class, SimpleGrantedAuthorityJsonCreator.class)
-                            .readValue(authoritiesClaims.toString().getBytes(), SimpleGrantedAuthority[].class)
-            );
+            // Se comprueba también con tokens en caché: la revocación puede llegar después de verificarlos
+            if (tokenRevocationService.isRevoked(verified.userId(), verified.tokenId(), verified.issuedAtMillis())) {
+                throw new JwtException("El token fue revocado.");
+            }
 
             User user = new User();
-            user.setId(userId);
-            user.setEmail(username);
+            user.setId(verified.userId());
+            user.setEmail(verified.username());
             CustomUserDetails userDetails = new CustomUserDetails(user);
 
             UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
+                    new UsernamePasswordAuthenticationToken(userDetails, null, verified.authorities());
+            auth.setDetails(new AccessTokenDetails(verified.tokenId(), verified.expiresAtMillis()));
 
             SecurityContextHolder.getContext().setAuthentication(auth);
-            chain.doFilter(request, response);
-        } catch (JwtException ex) {
+        } catch (JwtException | IOException ex) {
             SecurityContextHolder.clearContext();
-            chain.doFilter(request, response);
         }
+
+        // Fuera del try: los errores de la cadena no deben confundirse con un token inválido
+        chain.doFilter(request, response);
+    }
+
+    // Sin estado: visible en el paquete para probar los formatos de token
+    static VerifiedToken verify(String token) throws IOException {
+        Claims claims = PARSER.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() == null) {
+            // Sin expiración no se puede acotar cuánto vive en la caché
+            throw new JwtException("El token no tiene fecha de expiración.");
+        }
+        long expiresAt = claims.getExpiration().getTime();
+        long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+
+        Integer version = claims.get(JwtClaims.VERSION, Integer.class);
+        if (version != null && version == JwtClaims.CURRENT_VERSION) {
+            return new VerifiedToken(
+                    claims.get(JwtClaims.USER_ID, Long.class),
+                    null,
+                    JwtClaims.decodeRoles(claims.get(JwtClaims.ROLES, Integer.class), claims.get(JwtClaims.EXTRA_ROLES)),
+                    claims.getId(),
+                    issuedAt,
+                    expiresAt);
+        }
+        if (version != null) {
+            throw new JwtException("Versión de token no soportada: " + version);
+        }
+
+        // Formato anterior, aceptado hasta que expiren los tokens emitidos con él
+        return new VerifiedToken(
+                claims.get(JwtClaims.LEGACY_USER_ID, Long.class),
+                claims.getSubject(),
+                readAuthorities(claims.get(JwtClaims.LEGACY_AUTHORITIES)),
+                claims.getId(),
+                issuedAt,
+                expiresAt);
+    }
+
+    /**
+     * Lee el claim de autoridades del formato anterior: un arreglo de nombres de rol, o el texto JSON
+     * de los tokens más antiguos.
+     */
+    private static List<GrantedAuthority> readAuthorities(Object claim) throws IOException {
+        if (claim instanceof Collection<?> roles) {
+            return roles.stream().map(role -> GrantedAuthorityCache.of(role.toString())).toList();
+        }
+        if (claim instanceof String legacy) {
+            SimpleGrantedAuthority[] authorities = LEGACY_AUTHORITIES_READER.readValue(legacy);
+            return Arrays.stream(authorities)
+                    .map(authority -> GrantedAuthorityCache.of(authority.getAuthority()))
+                    .toList();
+        }
+        return List.of();
     }
 }
@@ -0,0 +1,84 @@
+package com.gpis.marketplace_link.security.filters;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché acotada de tokens JWT ya verificados.
+ *
+ * La clave es el SHA-256 del token (no se guarda el token en claro) y cada entrada vive
+ * hasta la expiración del propio token. El tamaño lo limita Caffeine, que desaloja por
+ * frecuencia de uso en segundo plano: llena, una inserción cuesta lo mismo que vacía.
+ */
+class VerifiedTokenCache {
+
+    /**
+     * Datos del token necesarios para reconstruir la autenticación.
+     */
+    record VerifiedToken(Long userId, String username, List<GrantedAuthority> authorities,
+                         String tokenId, long issuedAtMillis, long expiresAtMillis) {
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+
+    // Cada entrada caduca con el "exp" de su token
+    private static final Expiry<String, VerifiedToken> UNTIL_TOKEN_EXPIRES = new Expiry<>() {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = Math.max(0, value.expiresAtMillis() - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    };
+
+    private final Cache<String, VerifiedToken> tokens;
+
+    VerifiedTokenCache(int maxEntries) {
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(UNTIL_TOKEN_EXPIRES)
+                .build();
+    }
+
+    VerifiedToken get(String tokenHash) {
+        VerifiedToken verified = tokens.getIfPresent(tokenHash);
+        // Caffeine expira con cierta granularidad; el exp exacto se vuelve a comprobar
+        if (verified == null || verified.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return verified;
+    }
+
+    void put(String tokenHash, VerifiedToken verified) {
+        tokens.put(tokenHash, verified);
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.gpis.marketplace_link.security.service;
+
+/**
+ * Datos del access token con el que se autenticó la petición actual.
+ * JwtAuthorizationFilter los deja en {@code Authentication#getDetails()}.
+ *
+ * @param tokenId claim jti; null en tokens emitidos antes de que existiera.
+ * @param expiresAtMillis expiración del token.
+ */
+public record AccessTokenDetails(String tokenId, long expiresAtMillis) {
+}
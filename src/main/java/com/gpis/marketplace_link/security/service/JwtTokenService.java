@@ -0,0 +1,54 @@
+package com.gpis.marketplace_link.security.service;
+
+import com.gpis.marketplace_link.security.config.JwtClaims;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+
+import static com.gpis.marketplace_link.security.config.TokenJwtConfig.SECRET_KEY;
+
+/**
+ * Emite los access tokens JWT.
+ *
+ * Son de vida corta: al expirar, el cliente obtiene uno nuevo con su refresh token
+ * ({@link RefreshTokenService}) sin volver a enviar la contraseña.
+ */
+@Service
+public class JwtTokenService {
+
+    private static final int TOKEN_ID_BYTES = 16;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final long accessTokenTtlSeconds;
+
+    public JwtTokenService(@Value("${JWT_ACCESS_TOKEN_TTL_SECONDS:900}") long accessTokenTtlSeconds) {
+        this.accessTokenTtlSeconds = accessTokenTtlSeconds;
+    }
+
+    public String createAccessToken(Long userId, Collection<String> roles) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .id(newTokenId())
+                .claims(JwtClaims.encode(userId, roles))
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + accessTokenTtlSeconds * 1000))
+                .signWith(SECRET_KEY)
+                .compact();
+    }
+
+    public long getAccessTokenTtlSeconds() {
+        return accessTokenTtlSeconds;
+    }
+
+    // jti corto (22 caracteres): permite revocar un token concreto, ver TokenRevocationService
+    private static String newTokenId() {
+        byte[] buf = new byte[TOKEN_ID_BYTES];
+        RANDOM.nextBytes(buf);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buf);
+    }
+}
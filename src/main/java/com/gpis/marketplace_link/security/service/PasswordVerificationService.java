@@ -0,0 +1,81 @@
+package com.gpis.marketplace_link.security.service;
+
+import com.gpis.marketplace_link.exceptions.business.users.LoginThrottledException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta la autenticación por contraseña (BCrypt) en un pool propio y acotado.
+ *
+ * Como mucho LOGIN_HASH_THREADS verificaciones corren a la vez y LOGIN_HASH_QUEUE_CAPACITY esperan;
+ * con la cola llena, o si la espera supera LOGIN_HASH_TIMEOUT_MS, se lanza {@link LoginThrottledException}
+ * y el login responde 429. Así una ráfaga de logins no consume toda la CPU ni los hilos del servidor.
+ */
+@Slf4j
+@Service
+public class PasswordVerificationService {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public PasswordVerificationService(
+            @Value("${LOGIN_HASH_THREADS:0}") int threads,
+            @Value("${LOGIN_HASH_QUEUE_CAPACITY:64}") int queueCapacity,
+            @Value("${LOGIN_HASH_TIMEOUT_MS:5000}") long timeoutMillis) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-verify-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public Authentication authenticate(AuthenticationManager authenticationManager, Authentication credentials) {
+        Future<Authentication> result;
+        try {
+            result = executor.submit(() -> authenticationManager.authenticate(credentials));
+        } catch (RejectedExecutionException e) {
+            log.warn("Login rechazado: pool de verificación saturado ({} en cola)", executor.getQueue().size());
+            throw new LoginThrottledException("Password verification queue is full.");
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new LoginThrottledException("Password verification timed out.");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Authentication interrupted.", e);
+        } catch (ExecutionException e) {
+            // Se relanza tal cual para que el filtro distinga credenciales inválidas, cuenta bloqueada, etc.
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new AuthenticationServiceException("Authentication failed.", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
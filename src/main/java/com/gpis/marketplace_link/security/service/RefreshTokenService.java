@@ -0,0 +1,150 @@
+package com.gpis.marketplace_link.security.service;
+
+import com.gpis.marketplace_link.dto.user.TokenResponse;
+import com.gpis.marketplace_link.entities.RefreshToken;
+import com.gpis.marketplace_link.entities.Role;
+import com.gpis.marketplace_link.entities.User;
+import com.gpis.marketplace_link.exceptions.business.users.InvalidRefreshTokenException;
+import com.gpis.marketplace_link.repositories.RefreshTokenRepository;
+import com.gpis.marketplace_link.security.user.CustomUserDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Refresh tokens rotativos.
+ *
+ * Cada refresh token sirve una sola vez: al usarlo se revoca y se entrega uno nuevo de la misma familia
+ * junto con un access token nuevo. Si llega un token ya revocado (alguien lo reutiliza, por ejemplo tras
+ * robarlo) se revoca toda la familia y la sesión debe iniciarse otra vez con la contraseña.
+ * Solo se persiste el SHA-256 del token.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtTokenService jwtTokenService;
+    private final Duration refreshTokenTtl;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               JwtTokenService jwtTokenService,
+                               @Value("${JWT_REFRESH_TOKEN_TTL_DAYS:14}") long refreshTokenTtlDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtTokenService = jwtTokenService;
+        this.refreshTokenTtl = Duration.ofDays(refreshTokenTtlDays);
+    }
+
+    /**
+     * Abre una familia nueva de refresh tokens para el usuario (inicio de sesión).
+     *
+     * @return el refresh token en claro, para entregarlo al cliente.
+     */
+    @Transactional
+    public String issue(User user) {
+        return create(user, UUID.randomUUID()).rawToken();
+    }
+
+    /**
+     * Canjea un refresh token por un access token y un refresh token nuevos.
+     *
+     * @throws InvalidRefreshTokenException si el token no existe, expiró, ya se usó o la cuenta ya no está habilitada.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public TokenResponse rotate(String rawToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token inválido."));
+
+        if (current.isRevoked()) {
+            // Reutilización de un token ya canjeado: se invalida toda la sesión
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reutilizado para el usuario {}; se revoca la familia {}",
+                    current.getUser().getId(), current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token ya utilizado. Inicia sesión nuevamente.");
+        }
+        if (current.isExpired(now)) {
+            throw new InvalidRefreshTokenException("Refresh token expirado. Inicia sesión nuevamente.");
+        }
+
+        User user = current.getUser();
+        CustomUserDetails details = new CustomUserDetails(user);
+        if (!details.isEnabled() || !details.isAccountNonLocked()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("La cuenta ya no está habilitada.");
+        }
+
+        IssuedToken next = create(user, current.getFamilyId());
+        current.setRevokedAt(now);
+        current.setReplacedById(next.entity().getId());
+        refreshTokenRepository.save(current);
+
+        List<String> roles = user.getRoles().stream().map(Role::getName).toList();
+        return new TokenResponse(
+                jwtTokenService.createAccessToken(user.getId(), roles),
+                next.rawToken(),
+                jwtTokenService.getAccessTokenTtlSeconds());
+    }
+
+    /**
+     * Revoca la familia del refresh token indicado (cierre de sesión). Un token desconocido se ignora.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * Revoca todos los refresh tokens vigentes del usuario (por ejemplo, al bloquearlo).
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+    }
+
+    @Transactional
+    public int deleteExpired() {
+        return refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+    }
+
+    private IssuedToken create(User user, UUID familyId) {
+        byte[] buf = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(buf);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(buf);
+
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setExpiresAt(LocalDateTime.now().plus(refreshTokenTtl));
+        return new IssuedToken(refreshTokenRepository.save(token), rawToken);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private record IssuedToken(RefreshToken entity, String rawToken) {
+    }
+}
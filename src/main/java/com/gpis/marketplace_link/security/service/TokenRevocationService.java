@@ -0,0 +1,160 @@
+package com.gpis.marketplace_link.security.service;
+
+import com.gpis.marketplace_link.entities.RevokedToken;
+import com.gpis.marketplace_link.entities.UserTokenRevocation;
+import com.gpis.marketplace_link.repositories.RevokedTokenRepository;
+import com.gpis.marketplace_link.repositories.UserTokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Revocación de access tokens JWT sin consultar la base de datos en cada petición.
+ *
+ * Hay dos tipos de revocación:
+ * - Por usuario: todo token emitido antes de una fecha de corte (bloqueo o desactivación de la cuenta).
+ * - Por token: un token concreto identificado por su claim jti (cierre de sesión).
+ *
+ * Ambas se guardan en la base de datos y se mantienen en mapas concurrentes en memoria;
+ * TokenRevocationRefresher relee los cambios de otras instancias de forma incremental.
+ * La consulta desde JwtAuthorizationFilter es una búsqueda en un mapa (o nada si está vacío).
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    // Margen al releer: cubre transacciones que confirmaron después de que se leyera su marca de tiempo
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private static final LocalDateTime FULL_SYNC_SINCE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Los tokens del formato anterior duraban una hora
+    private static final Duration LEGACY_TOKEN_TTL = Duration.ofHours(1);
+
+    private final UserTokenRevocationRepository userRevocationRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Duration maxTokenTtl;
+
+    // userId -> fecha de corte (epoch millis)
+    private final ConcurrentMap<Long, Long> revokedBeforeByUser = new ConcurrentHashMap<>();
+    // jti -> expiración del token (epoch millis)
+    private final ConcurrentMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    // null hasta la primera lectura, que trae todo
+    private volatile LocalDateTime lastSync;
+
+    public TokenRevocationService(UserTokenRevocationRepository userRevocationRepository,
+                                  RevokedTokenRepository revokedTokenRepository,
+                                  JwtTokenService jwtTokenService) {
+        this.userRevocationRepository = userRevocationRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        Duration accessTtl = Duration.ofSeconds(jwtTokenService.getAccessTokenTtlSeconds());
+        this.maxTokenTtl = accessTtl.compareTo(LEGACY_TOKEN_TTL) > 0 ? accessTtl : LEGACY_TOKEN_TTL;
+    }
+
+    @PostConstruct
+    void loadRevocations() {
+        sync(LocalDateTime.now());
+    }
+
+    /**
+     * Indica si un token válido por firma y expiración fue revocado.
+     *
+     * @param userId usuario del token.
+     * @param tokenId claim jti, o null si el token no lo tiene.
+     * @param issuedAtMillis claim iat; 0 si el token no lo tiene.
+     */
+    public boolean isRevoked(Long userId, String tokenId, long issuedAtMillis) {
+        if (userId != null && !revokedBeforeByUser.isEmpty()) {
+            Long revokedBefore = revokedBeforeByUser.get(userId);
+            // iat viene en segundos: un token emitido en el mismo segundo del corte también se revoca
+            if (revokedBefore != null && issuedAtMillis <= revokedBefore) {
+                return true;
+            }
+        }
+        return tokenId != null && !revokedTokens.isEmpty() && revokedTokens.containsKey(tokenId);
+    }
+
+    /**
+     * Revoca todos los tokens emitidos hasta ahora para el usuario.
+     * Se aplica en memoria al confirmar la transacción que lo solicita.
+     */
+    @Transactional
+    public void revokeUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        userRevocationRepository.upsert(userId, now, now);
+        afterCommit(() -> revokedBeforeByUser.merge(userId, toMillis(now), Math::max));
+    }
+
+    /**
+     * Revoca un token concreto hasta su expiración.
+     */
+    @Transactional
+    public void revokeToken(String tokenId, long expiresAtMillis) {
+        if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokenRepository.insertIfAbsent(tokenId, toDateTime(expiresAtMillis), LocalDateTime.now());
+        afterCommit(() -> revokedTokens.put(tokenId, expiresAtMillis));
+    }
+
+    /**
+     * Trae las revocaciones nuevas desde la última lectura y descarta las que ya no afectan a ningún token.
+     */
+    @Transactional
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        sync(now);
+
+        long nowMillis = toMillis(now);
+        long oldestRelevant = nowMillis - maxTokenTtl.toMillis();
+        revokedBeforeByUser.values().removeIf(revokedBefore -> revokedBefore < oldestRelevant);
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+
+        userRevocationRepository.deleteRevokedBefore(toDateTime(oldestRelevant));
+        revokedTokenRepository.deleteExpiredBefore(now);
+    }
+
+    private void sync(LocalDateTime now) {
+        LocalDateTime since = lastSync == null ? FULL_SYNC_SINCE : lastSync.minus(SYNC_OVERLAP);
+
+        for (UserTokenRevocation revocation : userRevocationRepository.findByUpdatedAtAfter(since)) {
+            revokedBeforeByUser.merge(revocation.getUserId(), toMillis(revocation.getRevokedBefore()), Math::max);
+        }
+        for (RevokedToken token : revokedTokenRepository.findActiveCreatedAfter(since, now)) {
+            revokedTokens.put(token.getTokenId(), toMillis(token.getExpiresAt()));
+        }
+        lastSync = now;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
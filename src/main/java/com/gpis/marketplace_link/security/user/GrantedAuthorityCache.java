@@ -0,0 +1,32 @@
+package com.gpis.marketplace_link.security.user;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Instancias compartidas de {@link GrantedAuthority} por nombre de rol.
+ *
+ * Los roles son pocos y fijos, así que cada petición autenticada reutiliza
+ * la misma instancia en lugar de crear una nueva por rol.
+ * {@link SimpleGrantedAuthority} es inmutable, por lo que compartirla es seguro.
+ */
+public final class GrantedAuthorityCache {
+
+    private static final ConcurrentMap<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private GrantedAuthorityCache() {
+    }
+
+    public static GrantedAuthority of(String role) {
+        return AUTHORITIES.computeIfAbsent(role, SimpleGrantedAuthority::new);
+    }
+
+    public static List<GrantedAuthority> of(Collection<String> roles) {
+        return roles.stream().map(GrantedAuthorityCache::of).toList();
+    }
+}
@@ -4,6 +4,7 @@ import com.gpis.marketplace_link.entities.User;
 import com.gpis.marketplace_link.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -19,13 +20,16 @@ import org.springframework.transaction.annotation.Transactional;
  * Spring Security invoca este servicio automáticamente durante el proceso de autenticación,
  * pasando el nombre de usuario (en este caso, el email) que se intenta validar.
  *
+ * También implementa UserDetailsPasswordService: si el hash guardado usa un coste de BCrypt
+ * menor al configurado, Spring Security lo regenera tras un login correcto y lo persiste aquí.
+ *
  * Anotaciones principales:
  * - @Transactional(readOnly = true): asegura que la operación de lectura de datos
  *   se ejecute dentro de una transacción solo de lectura, optimizando el rendimiento.
  */
 @Service
 @RequiredArgsConstructor
-public class UserDetailServiceImp implements UserDetailsService {
+public class UserDetailServiceImp implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -35,4 +39,12 @@ public class UserDetailServiceImp implements UserDetailsService {
         User user = userRepository.findByEmailWithRoles(email).orElseThrow(() -> new UsernameNotFoundException(("User by username not found.")));
         return new CustomUserDetails(user);
     }
+
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.updatePasswordByEmail(userDetails.getUsername(), newPassword);
+        User user = ((CustomUserDetails) userDetails).user();
+        user.setPassword(newPassword);
+        return new CustomUserDetails(user);
+    }
 }
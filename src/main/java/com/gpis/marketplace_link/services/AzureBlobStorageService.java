@@ -1,20 +1,25 @@
 package com.gpis.marketplace_link.services;
 
+import com.azure.core.util.Context;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.ListBlobsOptions;
 import com.azure.storage.blob.models.PublicAccessType;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
+import com.gpis.marketplace_link.services.publications.valueObjects.StoredObject;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.PostConstruct;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.UUID;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -27,6 +32,7 @@ public class AzureBlobStorageService {
     private boolean azureStorageEnabled;
     private BlobServiceClient blobServiceClient;
     private BlobContainerClient containerClient;
+    private static final int LIST_PAGE_SIZE = 500;
 
     @PostConstruct
     public void init() {
@@ -66,7 +72,10 @@ public class AzureBlobStorageService {
         }
     }
 
-    public String uploadFile(MultipartFile file, String directory) throws IOException {
+    /**
+     * Sube el archivo con el nombre de blob indicado (p. ej. "products/{sha256}.png").
+     */
+    public String uploadFile(MultipartFile file, String blobName) throws IOException {
         if (!azureStorageEnabled) {
             throw new UnsupportedOperationException("Azure Storage está deshabilitado");
         }
@@ -75,14 +84,6 @@ public class AzureBlobStorageService {
             throw new IllegalArgumentException("El archivo está vacío");
         }
 
-        // Generar nombre único para el archivo
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename != null && originalFilename.contains(".") 
-            ? originalFilename.substring(originalFilename.lastIndexOf("."))
-            : "";
-        
-        String blobName = directory + "/" + UUID.randomUUID() + extension;
-
         try {
             // Obtener el BlobClient
             BlobClient blobClient = containerClient.getBlobClient(blobName);
@@ -91,16 +92,14 @@ public class AzureBlobStorageService {
             BlobHttpHeaders headers = new BlobHttpHeaders()
                     .setContentType(file.getContentType());
 
-            // Subir el archivo
+            // Subir el archivo con sus headers en la misma petición
             try (InputStream inputStream = file.getInputStream()) {
-                blobClient.upload(inputStream, file.getSize(), true);
-                blobClient.setHttpHeaders(headers);
+                BlobParallelUploadOptions options = new BlobParallelUploadOptions(inputStream)
+                        .setHeaders(headers);
+                blobClient.uploadWithResponse(options, null, Context.NONE);
             }
 
-            // Retornar la URL pública del blob (decodificada para evitar %2F)
-            String blobUrl = blobClient.getBlobUrl();
-            // Decodificar la URL para que tenga "/" en lugar de "%2F"
-            String decodedUrl = java.net.URLDecoder.decode(blobUrl, java.nio.charset.StandardCharsets.UTF_8);
+            String decodedUrl = toDecodedUrl(blobClient);
             log.info("✅ Archivo subido exitosamente: {}", decodedUrl);
             return decodedUrl;
 
@@ -109,7 +108,45 @@ public class AzureBlobStorageService {
             throw new IOException("Error al subir archivo a Azure Storage", e);
         }
     }
-    public boolean deleteFile(String blobUrl) {
+    public boolean blobExists(String blobName) {
+        if (!azureStorageEnabled) {
+            return false;
+        }
+        return containerClient.getBlobClient(blobName).exists();
+    }
+
+    public String getBlobUrl(String blobName) {
+        return toDecodedUrl(containerClient.getBlobClient(blobName));
+    }
+
+    // Retornar la URL pública del blob decodificada, con "/" en lugar de "%2F"
+    private String toDecodedUrl(BlobClient blobClient) {
+        return java.net.URLDecoder.decode(blobClient.getBlobUrl(), java.nio.charset.StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sube contenido ya generado (p. ej. variantes de imágenes) a la URL indicada, que debe pertenecer al contenedor.
+     */
+    public void uploadBytes(String blobUrl, byte[] data, String contentType) throws IOException {
+        if (!azureStorageEnabled) {
+            throw new UnsupportedOperationException("Azure Storage está deshabilitado");
+        }
+
+        try {
+            BlobClient blobClient = containerClient.getBlobClient(extractBlobNameFromUrl(blobUrl));
+            BlobParallelUploadOptions options = new BlobParallelUploadOptions(new ByteArrayInputStream(data))
+                    .setHeaders(new BlobHttpHeaders().setContentType(contentType));
+            blobClient.uploadWithResponse(options, null, Context.NONE);
+        } catch (Exception e) {
+            log.error("❌ Error al subir archivo a Azure Blob Storage: {}", e.getMessage(), e);
+            throw new IOException("Error al subir archivo a Azure Storage", e);
+        }
+    }
+    /**
+     * Elimina el blob en una sola petición (deleteIfExists). Devuelve false si no existía; lanza IOException
+     * si Azure falla, para que el llamador pueda reintentar.
+     */
+    public boolean deleteFile(String blobUrl) throws IOException {
         if (!azureStorageEnabled) {
             return false;
         }
@@ -117,21 +154,18 @@ public class AzureBlobStorageService {
         try {
             // Extraer el nombre del blob de la URL
             String blobName = extractBlobNameFromUrl(blobUrl);
-            
-            BlobClient blobClient = containerClient.getBlobClient(blobName);
-            
-            if (blobClient.exists()) {
-                blobClient.delete();
+
+            boolean deleted = containerClient.getBlobClient(blobName).deleteIfExists();
+            if (deleted) {
                 log.info("✅ Archivo eliminado exitosamente: {}", blobName);
-                return true;
             } else {
                 log.warn("⚠️ El archivo no existe: {}", blobName);
-                return false;
             }
+            return deleted;
 
         } catch (Exception e) {
             log.error("❌ Error al eliminar archivo de Azure Blob Storage: {}", e.getMessage(), e);
-            return false;
+            throw new IOException("Error al eliminar archivo de Azure Storage", e);
         }
     }
     public boolean fileExists(String blobUrl) {
@@ -165,6 +199,22 @@ public class AzureBlobStorageService {
             throw new IllegalArgumentException("URL de blob inválida", e);
         }
     }
+    /**
+     * Lista los blobs bajo el prefijo de forma paginada; las páginas se piden a Azure a medida que se consume el stream.
+     */
+    public Stream<StoredObject> listBlobs(String prefix) {
+        if (!azureStorageEnabled || containerClient == null) {
+            return Stream.empty();
+        }
+        ListBlobsOptions options = new ListBlobsOptions()
+                .setPrefix(prefix)
+                .setMaxResultsPerPage(LIST_PAGE_SIZE);
+        return containerClient.listBlobs(options, null).stream()
+                .map(blob -> new StoredObject(
+                        getBlobUrl(blob.getName()),
+                        blob.getProperties().getLastModified().toInstant(),
+                        blob.getProperties().getContentLength() != null ? blob.getProperties().getContentLength() : 0L));
+    }
     public String getContainerUrl() {
         return containerClient != null ? containerClient.getBlobContainerUrl() : null;
     }
@@ -16,6 +16,8 @@ public interface IncidenceService {
     void autoclose();
     ReportResponse reportByUser(RequestUserReport req);
     ReportResponse reportBySystem(RequestSystemReport req);
+    boolean isReportBufferEnabled();
+    int flushBufferedReports();
     Page<IncidenceSimpleDetailsResponse> fetchAllUnreviewed(Pageable pageable, LocalDateTime startDate, LocalDateTime endDate);
     Page<IncidenceSimpleDetailsResponse> fetchAllReviewed(Pageable pageable, LocalDateTime startDate, LocalDateTime endDate);
     IncidenceDetailsResponse fetchByPublicUiNativeProjection(UUID publicUi);
@@ -3,8 +3,11 @@ package com.gpis.marketplace_link.services.incidence;
 import com.gpis.marketplace_link.dto.Messages;
 import com.gpis.marketplace_link.dto.incidence.AppealResponse;
 import com.gpis.marketplace_link.dto.incidence.*;
+import com.gpis.marketplace_link.dto.incidence.projections.ActiveIncidenceProjection;
 import com.gpis.marketplace_link.dto.incidence.projections.IncidenceDetailsProjection;
 import com.gpis.marketplace_link.dto.incidence.projections.IncidenceStatsProjection;
+import com.gpis.marketplace_link.dto.incidence.projections.IncidenceSummaryProjection;
+import com.gpis.marketplace_link.dto.incidence.projections.ReportTargetProjection;
 import com.gpis.marketplace_link.dto.incidence.projections.UserIdProjection;
 import com.gpis.marketplace_link.dto.incidence.projections.VendorIdProjection;
 import com.gpis.marketplace_link.entities.*;
@@ -27,6 +30,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -39,6 +43,10 @@ public class IncidenceServiceImp implements IncidenceService {
     @Value("${FRONTEND_URL:http://localhost:3000}")
     private String frontendUrl;
 
+    // Si está activo, los reportes de usuario se encolan en pending_reports y se procesan por lotes
+    @Value("${REPORT_BUFFER_ENABLED:false}")
+    private boolean reportBufferEnabled;
+
     private final NotificationService notificationService;
     private final SecurityService securityService;
     private final IncidenceRepository incidenceRepository;
@@ -46,8 +54,12 @@ public class IncidenceServiceImp implements IncidenceService {
     private final UserRepository userRepository;
     private final ReportRepository reportRepository;
     private final AppealRepository appealRepository;
+    private final PendingReportRepository pendingReportRepository;
+    private final TransactionTemplate transactionTemplate;
 
     private static final int REPORT_THRESHOLD = 3;
+    private static final int REPORT_BUFFER_BATCH_SIZE = 500;
+    private static final int REPORT_BUFFER_PUBLICATIONS_PER_RUN = 50;
     private static final String SYSTEM_USERNAME = "system_user";
 
     @Override
@@ -75,15 +87,13 @@ public class IncidenceServiceImp implements IncidenceService {
     @Transactional()
     @Override
     public ReportResponse reportByUser(RequestUserReport req) {
-        List<IncidenceStatus> status = List.of(
-                IncidenceStatus.OPEN,
-                IncidenceStatus.PENDING_REVIEW,
-                IncidenceStatus.UNDER_REVIEW,
-                IncidenceStatus.APPEALED);
-
         Long reporterId = securityService.getCurrentUserId();
         Long publicationId = req.getPublicationId();
 
+        if (reportBufferEnabled) {
+            return bufferReport(reporterId, req);
+        }
+
         // Obtener entidades base
         Publication pub = publicationRepository.findById(publicationId)
                 .orElseThrow(() -> new PublicationNotFoundException(Messages.PUBLICATION_NOT_FOUND + publicationId));
@@ -95,8 +105,20 @@ public class IncidenceServiceImp implements IncidenceService {
             throw new IncidenceNotAllowedToReportOwnPublicationException("No puedes reportar tu propia publicación.");
         }
 
+        // Crear u obtener la incidencia activa. A partir de aquí la fila queda bloqueada hasta el commit,
+        // así los reportes simultáneos sobre la misma publicación se procesan de uno en uno.
+        ActiveIncidenceProjection active = incidenceRepository.upsertActiveIncidence(publicationId,
+                IncidenceStatus.OPEN.name());
+        Incidence incidence = findIncidence(active.getId());
+
         // Validar que el usuario no haya reportado esta publicación en las últimas 24
-        // horas
+        // horas (después del bloqueo, para que un doble envío no cuele dos reportes)
+        ensureNotReportedRecently(reporterId, publicationId);
+
+        return addUserReport(incidence, pub, reporter, req);
+    }
+
+    private void ensureNotReportedRecently(Long reporterId, Long publicationId) {
         Optional<Report> lastReport = reportRepository.findLastReportByReporterIdAndPublicationId(reporterId,
                 publicationId);
         if (lastReport.isPresent()) {
@@ -106,23 +128,35 @@ public class IncidenceServiceImp implements IncidenceService {
                 throw new ReportTooFrequentException("Solo puedes reportar esta publicación una vez cada 24 horas.");
             }
         }
+    }
 
-        // Crear o actualizar incidencia
-        Optional<Incidence> inc = incidenceRepository.findByPublicationIdAndStatusIn(publicationId, status);
-        if (inc.isEmpty()) {
-            return handleNewIncidence(pub, reporter, req);
-        } else {
-            return handleExistingIncidence(inc.get(), pub, reporter, req);
+    // Solo una incidencia abierta (o ninguna) admite nuevos reportes de usuario
+    private void ensureAcceptsUserReports(IncidenceStatus status) {
+        if (status == IncidenceStatus.PENDING_REVIEW) {
+            throw new IncidenceAlreadyPendingReviewException(Messages.INCIDENCE_PENDING_REVIEW_CANNOT_ADD_REPORT);
         }
+
+        if (status == IncidenceStatus.UNDER_REVIEW) {
+            throw new PublicationUnderReviewException(Messages.INCIDENCE_UNDER_REVIEW_CANNOT_ADD_REPORT);
+        }
+
+        if (status == IncidenceStatus.APPEALED) {
+            throw new IncidenceAppealedException(Messages.INCIDENCE_APPEALED_CANNOT_ADD_REPORT);
+        }
+    }
+
+    private Incidence findIncidence(Long incidenceId) {
+        return incidenceRepository.findById(incidenceId)
+                .orElseThrow(() -> new IncidenceNotFoundException(Messages.INCIDENCE_NOT_FOUND + incidenceId));
     }
 
-    private ReportResponse handleNewIncidence(Publication pub, User reporter, RequestUserReport req) {
-        Incidence incidence = new Incidence();
-        incidence.setPublication(pub);
-        Incidence savedIncidence = incidenceRepository.save(incidence);
+    private ReportResponse addUserReport(Incidence existing, Publication pub, User reporter,
+            RequestUserReport req) {
+
+        ensureAcceptsUserReports(existing.getStatus());
 
         Report report = Report.builder()
-                .incidence(savedIncidence)
+                .incidence(existing)
                 .reporter(reporter)
                 .reason(req.getReason())
                 .comment(req.getComment())
@@ -131,8 +165,10 @@ public class IncidenceServiceImp implements IncidenceService {
 
         reportRepository.save(report);
 
+        escalateIfThresholdReached(existing, pub);
+
         return ReportResponse.builder()
-                .publicIncidenceUi(savedIncidence.getPublicUi())
+                .publicIncidenceUi(existing.getPublicUi())
                 .publicationId(pub.getId())
                 .publicationStatus(pub.getStatus())
                 .message(Messages.REPORT_SUCCESS)
@@ -140,49 +176,145 @@ public class IncidenceServiceImp implements IncidenceService {
                 .build();
     }
 
-    private ReportResponse handleExistingIncidence(Incidence existing, Publication pub, User reporter,
-            RequestUserReport req) {
+    // Pasa la incidencia a revisión (y oculta la publicación) cuando alcanza el umbral de reportes.
+    // Se llama con la fila de la incidencia bloqueada, así solo un reporte puede cruzar el umbral.
+    private void escalateIfThresholdReached(Incidence incidence, Publication pub) {
+        if (incidenceRepository.findReportCountById(incidence.getId()) >= REPORT_THRESHOLD) {
+            pub.setUnderReview();
+            incidence.setStatus(IncidenceStatus.PENDING_REVIEW);
+            publicationRepository.save(pub);
+            incidenceRepository.save(incidence);
+            this.notifyUserOfPublicationBlock(incidence);
+        }
+    }
 
-        if (existing.getStatus().equals(IncidenceStatus.PENDING_REVIEW)) {
-            throw new IncidenceAlreadyPendingReviewException(Messages.INCIDENCE_PENDING_REVIEW_CANNOT_ADD_REPORT);
+    /**
+     * Modo búfer: valida con dos lecturas por índice y encola el reporte con una sola inserción.
+     * Se rechazan aquí, con las mismas excepciones que el flujo síncrono, la publicación inexistente,
+     * la propia, la incidencia que no admite reportes y el reporte repetido en 24 horas. Al vaciar el búfer
+     * se vuelven a aplicar las reglas con la incidencia bloqueada, y se descartan sin aviso los reportes que
+     * dejaron de ser válidos entre medias (p. ej. la incidencia pasó a revisión o llegó un duplicado simultáneo).
+     */
+    private ReportResponse bufferReport(Long reporterId, RequestUserReport req) {
+        Long publicationId = req.getPublicationId();
+        ReportTargetProjection target = incidenceRepository.findReportTarget(publicationId)
+                .orElseThrow(() -> new PublicationNotFoundException(Messages.PUBLICATION_NOT_FOUND + publicationId));
+
+        if (target.getVendorId().equals(reporterId)) {
+            throw new IncidenceNotAllowedToReportOwnPublicationException("No puedes reportar tu propia publicación.");
         }
+        ensureAcceptsUserReports(target.getIncidenceStatus());
+        ensureNotReportedRecently(reporterId, publicationId);
 
-        if (existing.getStatus().equals(IncidenceStatus.UNDER_REVIEW)) {
-            throw new PublicationUnderReviewException(Messages.INCIDENCE_UNDER_REVIEW_CANNOT_ADD_REPORT);
+        PendingReport pending = new PendingReport();
+        pending.setPublicationId(req.getPublicationId());
+        pending.setReporterId(reporterId);
+        pending.setReason(req.getReason());
+        pending.setComment(req.getComment());
+        pendingReportRepository.save(pending);
+
+        return ReportResponse.builder()
+                .publicationId(req.getPublicationId())
+                .message(Messages.REPORT_ACCEPTED)
+                .createdAt(pending.getCreatedAt())
+                .build();
+    }
+
+    @Override
+    public boolean isReportBufferEnabled() {
+        return reportBufferEnabled;
+    }
+
+    /**
+     * Vacía el búfer publicación por publicación, cada una en su propia transacción: un error en una
+     * (p. ej. una FK rota) no revierte ni bloquea a las demás. El lote que falla se marca como fallido
+     * con el error, en lugar de reintentarse indefinidamente. No debe llamarse dentro de una transacción.
+     *
+     * @return cantidad de reportes pendientes tomados en esta pasada; 0 si no queda nada.
+     */
+    @Override
+    public int flushBufferedReports() {
+        List<Long> publicationIds = pendingReportRepository.findPendingPublicationIds(REPORT_BUFFER_PUBLICATIONS_PER_RUN);
+
+        int taken = 0;
+        for (Long publicationId : publicationIds) {
+            Long[] maxId = new Long[1];
+            try {
+                taken += transactionTemplate.execute(status -> flushPublicationBatch(publicationId, maxId));
+            } catch (RuntimeException ex) {
+                if (maxId[0] == null) {
+                    throw ex;
+                }
+                int failed = pendingReportRepository.markFailed(publicationId, maxId[0], LocalDateTime.now(),
+                        String.valueOf(ex.getMessage()));
+                log.error("Búfer de reportes: {} reportes de la publicación {} marcados como fallidos",
+                        failed, publicationId, ex);
+                taken += failed;
+            }
         }
+        return taken;
+    }
 
-        if (existing.getStatus().equals(IncidenceStatus.APPEALED)) {
-            throw new IncidenceAppealedException(Messages.INCIDENCE_APPEALED_CANNOT_ADD_REPORT);
+    // Una publicación: bloquea su lote, lo procesa y lo elimina del búfer. maxId permite apartarlo si falla.
+    private int flushPublicationBatch(Long publicationId, Long[] maxId) {
+        List<PendingReport> batch = pendingReportRepository.lockPublicationBatch(publicationId, REPORT_BUFFER_BATCH_SIZE);
+        if (batch.isEmpty()) {
+            return 0;
         }
+        maxId[0] = batch.getLast().getId();
 
-        if (existing.getStatus().equals(IncidenceStatus.OPEN)) {
-            Report report = Report.builder()
-                    .incidence(existing)
-                    .reporter(reporter)
-                    .reason(req.getReason())
-                    .comment(req.getComment())
-                    .source(ReportSource.USER)
-                    .build();
+        Optional<Publication> pub = publicationRepository.findById(publicationId);
+        int inserted = 0;
+        if (pub.isEmpty()) {
+            log.warn("Se descartan {} reportes de la publicación inexistente {}", batch.size(), publicationId);
+        } else {
+            inserted = flushPublicationReports(pub.get(), batch);
+        }
 
-            existing.getReports().add(report);
-            incidenceRepository.save(existing);
+        pendingReportRepository.deleteAllInBatch(batch);
+        log.info("Búfer de reportes: {} reportes insertados de {} recibidos para la publicación {}",
+                inserted, batch.size(), publicationId);
+        return batch.size();
+    }
+
+    /**
+     * Aplica a los reportes pendientes de una publicación las mismas reglas que {@link #reportByUser}
+     * y los inserta en un único lote JDBC.
+     *
+     * @return cantidad de reportes insertados.
+     */
+    private int flushPublicationReports(Publication pub, List<PendingReport> pending) {
+        Long vendorId = pub.getVendor().getId();
+
+        // Un reporte por usuario: ni el propio vendedor ni quien ya reportó en las últimas 24 horas
+        Map<Long, PendingReport> byReporter = new LinkedHashMap<>();
+        for (PendingReport report : pending) {
+            if (!report.getReporterId().equals(vendorId)) {
+                byReporter.putIfAbsent(report.getReporterId(), report);
+            }
+        }
+        if (!byReporter.isEmpty()) {
+            byReporter.keySet().removeAll(reportRepository.findReporterIdsWhoReportedSince(pub.getId(),
+                    byReporter.keySet(), LocalDateTime.now().minusHours(24)));
+        }
+        if (byReporter.isEmpty()) {
+            return 0;
         }
 
-        if (existing.getReports().size() >= REPORT_THRESHOLD) {
-            pub.setUnderReview();
-            existing.setStatus(IncidenceStatus.PENDING_REVIEW);
-            publicationRepository.save(pub);
-            incidenceRepository.save(existing);
-            this.notifyUserOfPublicationBlock(existing);
+        ActiveIncidenceProjection active = incidenceRepository.upsertActiveIncidence(pub.getId(),
+                IncidenceStatus.OPEN.name());
+        Incidence incidence = findIncidence(active.getId());
+
+        // En revisión o apelada no admite más reportes, igual que en el flujo síncrono
+        if (!incidence.getStatus().equals(IncidenceStatus.OPEN)) {
+            log.info("Se descartan {} reportes de la publicación {}: incidencia en estado {}",
+                    byReporter.size(), pub.getId(), incidence.getStatus());
+            return 0;
         }
 
-        return ReportResponse.builder()
-                .publicIncidenceUi(existing.getPublicUi())
-                .publicationId(pub.getId())
-                .publicationStatus(pub.getStatus())
-                .message(Messages.REPORT_SUCCESS)
-                .createdAt(LocalDateTime.now())
-                .build();
+        reportRepository.insertUserReports(incidence.getId(), List.copyOf(byReporter.values()));
+        escalateIfThresholdReached(incidence, pub);
+        return byReporter.size();
     }
 
     @Transactional
@@ -190,23 +322,22 @@ public class IncidenceServiceImp implements IncidenceService {
     public ReportResponse reportBySystem(RequestSystemReport req) {
         Long publicationId = req.getPublicationId();
 
-        // Buscar incidencia activa y usuario del sistema
-        Optional<Incidence> optionalIncidence = findActiveIncidence(publicationId);
-
         User systemUser = userRepository.findByUsername(SYSTEM_USERNAME)
                 .orElseThrow(() -> new ReporterNotFoundException(Messages.USER_SYSTEM_NOT_FOUND));
 
-        // ️ Si no existe incidencia previa, crear una nueva
-        if (optionalIncidence.isEmpty()) {
-            return createSystemIncidence(publicationId, systemUser, req);
-        }
-
         Publication publication = publicationRepository.findById(publicationId)
                 .orElseThrow(() -> new PublicationNotFoundException(Messages.PUBLICATION_NOT_FOUND + publicationId));
 
-        // Si ya existe, validar y agregar evidencia
-        Incidence existingIncidence = optionalIncidence.get();
+        // Crear u obtener la incidencia activa; una nueva nace directamente en PENDING_REVIEW
+        ActiveIncidenceProjection active = incidenceRepository.upsertActiveIncidence(publicationId,
+                IncidenceStatus.PENDING_REVIEW.name());
+        Incidence existingIncidence = findIncidence(active.getId());
+
+        if (Boolean.TRUE.equals(active.getCreated())) {
+            return createSystemIncidence(existingIncidence, publication, systemUser, req);
+        }
 
+        // Si ya existe, validar y agregar evidencia
         if (existingIncidence.getStatus().equals(IncidenceStatus.APPEALED)) {
             throw new IncidenceAppealedException(Messages.INCIDENCE_APPEALED_CANNOT_ADD_REPORT);
         }
@@ -217,18 +348,18 @@ public class IncidenceServiceImp implements IncidenceService {
                 .reason(req.getReason())
                 .comment(req.getComment())
                 .source(ReportSource.SYSTEM)
+                .dictionaryVersion(req.getDictionaryVersion())
                 .build();
 
-        existingIncidence.getReports().add(report);
+        reportRepository.save(report);
 
         if (existingIncidence.getStatus().equals(IncidenceStatus.OPEN)) {
             existingIncidence.setStatus(IncidenceStatus.PENDING_REVIEW);
-            existingIncidence.getPublication().setUnderReview();
-            publicationRepository.save(existingIncidence.getPublication());
+            publication.setUnderReview();
+            publicationRepository.save(publication);
+            incidenceRepository.save(existingIncidence);
         }
 
-        incidenceRepository.save(existingIncidence);
-
         return ReportResponse.builder()
                 .publicIncidenceUi(existingIncidence.getPublicUi())
                 .publicationId(publicationId)
@@ -238,25 +369,10 @@ public class IncidenceServiceImp implements IncidenceService {
                 .build();
     }
 
-    private Optional<Incidence> findActiveIncidence(Long publicationId) {
-        List<IncidenceStatus> activeStatuses = List.of(
-                IncidenceStatus.OPEN,
-                IncidenceStatus.PENDING_REVIEW,
-                IncidenceStatus.UNDER_REVIEW,
-                IncidenceStatus.APPEALED);
-        return incidenceRepository.findByPublicationIdAndStatusIn(publicationId, activeStatuses);
-    }
-
-    private ReportResponse createSystemIncidence(Long publicationId, User systemUser, RequestSystemReport req) {
-        Publication publication = publicationRepository.findById(publicationId)
-                .orElseThrow(() -> new PublicationNotFoundException(Messages.PUBLICATION_NOT_FOUND + publicationId));
-
+    private ReportResponse createSystemIncidence(Incidence savedIncidence, Publication publication, User systemUser,
+            RequestSystemReport req) {
         publication.setUnderReview();
-
-        Incidence newIncidence = new Incidence();
-        newIncidence.setPublication(publication);
-        newIncidence.setStatus(IncidenceStatus.PENDING_REVIEW);
-        Incidence savedIncidence = incidenceRepository.save(newIncidence);
+        publicationRepository.save(publication);
 
         Report systemReport = Report.builder()
                 .incidence(savedIncidence)
@@ -264,6 +380,7 @@ public class IncidenceServiceImp implements IncidenceService {
                 .reason(req.getReason())
                 .comment(req.getComment())
                 .source(ReportSource.SYSTEM)
+                .dictionaryVersion(req.getDictionaryVersion())
                 .build();
 
         reportRepository.save(systemReport);
@@ -271,7 +388,7 @@ public class IncidenceServiceImp implements IncidenceService {
 
         return ReportResponse.builder()
                 .publicIncidenceUi(savedIncidence.getPublicUi())
-                .publicationId(publicationId)
+                .publicationId(publication.getId())
                 .publicationStatus(publication.getStatus())
                 .message(Messages.REPORT_SUCCESS)
                 .createdAt(LocalDateTime.now())
@@ -282,18 +399,18 @@ public class IncidenceServiceImp implements IncidenceService {
     @Override
     public Page<IncidenceSimpleDetailsResponse> fetchAllUnreviewed(Pageable pageable, LocalDateTime startDate,
             LocalDateTime endDate) {
-        Page<Incidence> page;
+        Page<IncidenceSummaryProjection> page;
 
         // Si no se envían fechas, trae todo
         if (startDate == null || endDate == null) {
-            page = incidenceRepository.findAllUnreviewedWithDetails(pageable);
+            page = incidenceRepository.findAllUnreviewedSummaries(pageable);
         } else {
 
             if (endDate.isBefore(startDate)) {
                 throw new IllegalArgumentException("La fecha final no puede ser anterior a la fecha inicial.");
             }
 
-            page = incidenceRepository.findAllUnreviewedWithDetailsBetween(pageable, startDate, endDate);
+            page = incidenceRepository.findAllUnreviewedSummariesBetween(pageable, startDate, endDate);
         }
 
         return generatePageIncidenceSimpleDetailResponse(page);
@@ -305,17 +422,17 @@ public class IncidenceServiceImp implements IncidenceService {
             LocalDateTime endDate) {
         Long currentUserId = securityService.getCurrentUserId();
 
-        Page<Incidence> page;
+        Page<IncidenceSummaryProjection> page;
 
         if (startDate == null || endDate == null) {
-            page = incidenceRepository.findAllReviewedWithDetails(currentUserId, pageable);
+            page = incidenceRepository.findAllReviewedSummaries(currentUserId, pageable);
         } else {
 
             if (endDate.isBefore(startDate)) {
                 throw new IllegalArgumentException("La fecha final no puede ser anterior a la fecha inicial.");
             }
 
-            page = incidenceRepository.findAllReviewedWithDetailsBetween(currentUserId, pageable, startDate, endDate);
+            page = incidenceRepository.findAllReviewedSummariesBetween(currentUserId, pageable, startDate, endDate);
         }
 
         return generatePageIncidenceSimpleDetailResponse(page);
@@ -409,23 +526,22 @@ public class IncidenceServiceImp implements IncidenceService {
     }
 
     // Generar una respuesta simple para una lista (paginacion)
-    public Page<IncidenceSimpleDetailsResponse> generatePageIncidenceSimpleDetailResponse(Page<Incidence> page) {
-        return page.map(i -> {
+    public Page<IncidenceSimpleDetailsResponse> generatePageIncidenceSimpleDetailResponse(Page<IncidenceSummaryProjection> page) {
+        return page.map(row -> {
             IncidenceSimpleDetailsResponse detailsResponse = new IncidenceSimpleDetailsResponse();
 
-            detailsResponse.setPublicIncidenceUi(i.getPublicUi());
-            detailsResponse.setAutoClosed(i.getAutoclosed());
-            detailsResponse.setCreatedAt(i.getCreatedAt());
-            detailsResponse.setStatus(i.getStatus());
-            detailsResponse.setIncidenceDecision(i.getDecision());
+            detailsResponse.setPublicIncidenceUi(row.getIncidencePublicUi());
+            detailsResponse.setAutoClosed(row.getIncidenceAutoclosed());
+            detailsResponse.setCreatedAt(row.getIncidenceCreatedAt());
+            detailsResponse.setStatus(row.getIncidenceStatus());
+            detailsResponse.setIncidenceDecision(row.getIncidenceDecision());
 
             // Publicacion
             SimplePublicationResponse publicationResponse = new SimplePublicationResponse();
-            Publication pub = i.getPublication();
-            publicationResponse.setId(pub.getId());
-            publicationResponse.setDescription(pub.getDescription());
-            publicationResponse.setStatus(pub.getStatus());
-            publicationResponse.setName(pub.getName());
+            publicationResponse.setId(row.getPublicationId());
+            publicationResponse.setDescription(row.getPublicationDescription());
+            publicationResponse.setStatus(row.getPublicationStatus());
+            publicationResponse.setName(row.getPublicationName());
             detailsResponse.setPublication(publicationResponse);
 
             return detailsResponse;
@@ -527,7 +643,7 @@ public class IncidenceServiceImp implements IncidenceService {
 
             // En ecendia, aqui siempre la incidencia estaria open, si no entra. Si entra,
             // signficia que esta bajo revision.
-            if (incidence.getReports().size() >= REPORT_THRESHOLD) {
+            if (incidence.getReportCount() >= REPORT_THRESHOLD) {
                 this.notifyUserOfPublicationUnlock(incidence);
             }
         }
@@ -1,95 +1,93 @@
 package com.gpis.marketplace_link.services.publications;
 
+import com.gpis.marketplace_link.dto.publication.projections.DangerousWordProjection;
 import com.gpis.marketplace_link.exceptions.business.publications.DangerousDictionaryLoadException;
+import com.gpis.marketplace_link.repositories.DangerousWordRepository;
+import com.gpis.marketplace_link.services.publications.valueObjects.DangerousContentScan;
+import com.gpis.marketplace_link.services.publications.valueObjects.DangerousDictionarySnapshot;
 import com.gpis.marketplace_link.services.publications.valueObjects.DangerousWordMatch;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
+import java.util.Objects;
+
+/**
+ * Detección de contenido peligroso sobre el diccionario de la tabla dangerous_words.
+ * <p>
+ * Las lecturas usan la foto vigente ({@link DangerousDictionarySnapshot}) sin bloquear; cuando la versión
+ * del diccionario cambia, {@link #refreshIfChanged()} construye un buscador nuevo fuera del hilo de la
+ * petición y lo publica de una vez.
+ */
 @Service
+@RequiredArgsConstructor
 public class DangerousContentDetectedService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DangerousContentDetectedService.class);
+
+    private final DangerousWordRepository dangerousWordRepository;
 
-    private List<Pattern> pattern;
+    private volatile DangerousDictionarySnapshot snapshot = DangerousDictionarySnapshot.EMPTY;
 
     @PostConstruct
     public void loadDictionary() {
-
-        try (InputStream in = getClass().getClassLoader().getResourceAsStream("dangerous-words-dictionary.txt")) {
-
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in))) {
-                pattern = reader.lines()
-                        .map(String::trim)
-                        .filter(line -> !line.isEmpty())
-                        .map(word -> Pattern.compile("\\b" + Pattern.quote(word), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CHARACTER_CLASS))
-                        .toList();
-            }
-        } catch (IOException e) {
-            throw new DangerousDictionaryLoadException("Error de E/S al cargar el diccionario de palabras peligrosas", e);
+        try {
+            reload();
         } catch (Exception e) {
             throw new DangerousDictionaryLoadException("Error al cargar el diccionario de palabras peligrosas", e);
         }
-
     }
-    public boolean containsDangerousContent(String text) {
-        if (text == null || text.isEmpty()) {
-            return false;
-        }
 
-        if (pattern == null || pattern.isEmpty()) {
-            return false;
-        }
-        for (Pattern p : pattern) {
-            if (p.matcher(text).find()) {
-                return true;
-            }
+    /**
+     * Reconstruye el buscador solo si la versión guardada en base de datos es distinta a la vigente.
+     */
+    public void refreshIfChanged() {
+        Long version = dangerousWordRepository.findCurrentVersion();
+        if (version != null && version != snapshot.version()) {
+            reload();
         }
-        return false;
     }
 
-
-    public List<DangerousWordMatch> findDangerousWords(String text) {
-        if (text == null || text.isBlank() || pattern == null || pattern.isEmpty())
-            return Collections.emptyList();
-
-        List<DangerousWordMatch> matches = new ArrayList<>();
-        for (Pattern p : pattern) {
-            Matcher matcher = p.matcher(text);
-            while (matcher.find()) {
-
-                String fullWord = extractFullWord(text, matcher.start());
-
-                String cleanPattern = p.pattern().replace("\\Q", "").replace("\\E", "");
-                matches.add(new DangerousWordMatch(fullWord, cleanPattern));
-            }
-        }
-        return matches;
+    public DangerousDictionarySnapshot currentSnapshot() {
+        return snapshot;
     }
 
+    public boolean containsDangerousContent(String text) {
+        return snapshot.matcher().containsAny(text);
+    }
 
-    private String extractFullWord(String text, int matchStart) {
-        int start = matchStart;
-        int end = matchStart;
+    public List<DangerousWordMatch> findDangerousWords(String text) {
+        return snapshot.matcher().findAll(text);
+    }
 
+    /**
+     * Devuelve todas las coincidencias junto con la versión del diccionario que las produjo.
+     */
+    public DangerousContentScan scan(String text) {
+        DangerousDictionarySnapshot current = snapshot;
+        return new DangerousContentScan(current.version(), current.matcher().findAll(text));
+    }
 
-        while (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
-            start--;
+    private synchronized void reload() {
+        List<DangerousWordProjection> rows = dangerousWordRepository.findActiveDictionary();
+        if (rows.isEmpty()) {
+            throw new DangerousDictionaryLoadException("No existe la versión del diccionario de palabras peligrosas");
         }
 
-
-        while (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
-            end++;
+        long version = rows.get(0).getVersion();
+        if (version == snapshot.version()) {
+            return;
         }
 
-        return text.substring(start, end);
+        List<String> terms = rows.stream()
+                .map(DangerousWordProjection::getTerm)
+                .filter(Objects::nonNull)
+                .toList();
+
+        snapshot = new DangerousDictionarySnapshot(version, DangerousWordsMatcher.of(terms));
+        logger.info("Diccionario de palabras peligrosas cargado: versión {} con {} términos", version, snapshot.matcher().size());
     }
 }
@@ -0,0 +1,206 @@
+package com.gpis.marketplace_link.services.publications;
+
+import com.gpis.marketplace_link.services.publications.valueObjects.DangerousWordMatch;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Buscador multipatrón (Aho-Corasick) para el diccionario de palabras peligrosas.
+ * <p>
+ * Recorre el texto una sola vez sin importar cuántos términos tenga el diccionario.
+ * Tanto los términos como el texto se comparan en minúsculas y sin tildes ni diéresis
+ * ("munición" coincide con "municion"); la ñ se conserva porque en español cambia la palabra.
+ * Un término solo coincide al inicio de una palabra, igual que el antiguo {@code \b<término>}:
+ * "bomb" detecta "bombas" pero no "abomba".
+ * <p>
+ * La instancia es inmutable una vez construida y puede compartirse entre hilos.
+ */
+public final class DangerousWordsMatcher {
+
+    private static final DangerousWordsMatcher EMPTY = new DangerousWordsMatcher(List.of());
+
+    private final Node root = new Node();
+    private final List<String> terms;
+
+    private DangerousWordsMatcher(Collection<String> words) {
+        Map<String, String> byFolded = new LinkedHashMap<>();
+        for (String word : words) {
+            if (word == null || word.isBlank()) {
+                continue;
+            }
+            String term = word.trim();
+            byFolded.putIfAbsent(fold(term), term);
+        }
+
+        this.terms = List.copyOf(byFolded.values());
+        int index = 0;
+        for (String folded : byFolded.keySet()) {
+            insert(folded, index++);
+        }
+        linkFailures();
+    }
+
+    public static DangerousWordsMatcher of(Collection<String> words) {
+        return words == null || words.isEmpty() ? EMPTY : new DangerousWordsMatcher(words);
+    }
+
+    public static DangerousWordsMatcher empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return terms.size();
+    }
+
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+
+    public boolean containsAny(String text) {
+        if (text == null || text.isEmpty() || terms.isEmpty()) {
+            return false;
+        }
+        return scan(text, null);
+    }
+
+    public List<DangerousWordMatch> findAll(String text) {
+        if (text == null || text.isBlank() || terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<DangerousWordMatch> matches = new ArrayList<>();
+        scan(text, matches);
+        return matches;
+    }
+
+    /**
+     * Recorre el texto una vez. Si {@code matches} es null se detiene en la primera coincidencia.
+     */
+    private boolean scan(String text, List<DangerousWordMatch> matches) {
+        Node state = root;
+        boolean found = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = foldChar(text.charAt(i));
+
+            while (state != root && !state.children.containsKey(c)) {
+                state = state.failure;
+            }
+            state = state.children.getOrDefault(c, root);
+
+            for (Node out = state.terminal >= 0 ? state : state.output; out != null; out = out.output) {
+                int start = i - out.depth + 1;
+                if (start > 0 && isWordChar(text.charAt(start - 1))) {
+                    continue;
+                }
+                if (matches == null) {
+                    return true;
+                }
+                found = true;
+                matches.add(new DangerousWordMatch(extractFullWord(text, start), terms.get(out.terminal)));
+            }
+        }
+        return found;
+    }
+
+    private void insert(String folded, int index) {
+        Node node = root;
+        for (int i = 0; i < folded.length(); i++) {
+            Node parent = node;
+            node = node.children.computeIfAbsent(folded.charAt(i), k -> new Node(parent.depth + 1));
+        }
+        node.terminal = index;
+    }
+
+    private void linkFailures() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children.values()) {
+            child.failure = root;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                char c = entry.getKey();
+                Node child = entry.getValue();
+
+                Node failure = node.failure;
+                while (failure != root && !failure.children.containsKey(c)) {
+                    failure = failure.failure;
+                }
+                Node target = failure.children.get(c);
+                child.failure = target != null && target != child ? target : root;
+                child.output = child.failure.terminal >= 0 ? child.failure : child.failure.output;
+                queue.add(child);
+            }
+        }
+    }
+
+    private static String extractFullWord(String text, int matchStart) {
+        int start = matchStart;
+        int end = matchStart;
+
+        while (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            start--;
+        }
+
+        while (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
+            end++;
+        }
+
+        return text.substring(start, end);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || Character.getType(c) == Character.NON_SPACING_MARK;
+    }
+
+    static String fold(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            sb.append(foldChar(value.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Normaliza un carácter manteniendo la longitud del texto (1 a 1), así las posiciones del
+     * texto plegado sirven directamente sobre el original.
+     */
+    private static char foldChar(char c) {
+        if (c < 0x80) {
+            return Character.toLowerCase(c);
+        }
+        if (c == 'ñ' || c == 'Ñ') {
+            return 'ñ';
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        return Character.toLowerCase(decomposed.charAt(0));
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final int depth;
+        private Node failure;
+        /** Siguiente nodo terminal alcanzable por enlaces de fallo. */
+        private Node output;
+        private int terminal = -1;
+
+        private Node() {
+            this(0);
+        }
+
+        private Node(int depth) {
+            this.depth = depth;
+        }
+    }
+}
@@ -106,4 +106,14 @@ public class FavoritePublicationService {
     public void restoreFavoritesByPublicationId(Long publicationId) {
         favoritePublicationRepository.restoreAllByPublicationId(publicationId);
     }
+
+    @Transactional
+    public void removeFavoritesByVendorId(Long vendorId) {
+        favoritePublicationRepository.softDeleteAllByVendorId(vendorId);
+    }
+
+    @Transactional
+    public void restoreFavoritesByVendorId(Long vendorId) {
+        favoritePublicationRepository.restoreAllBlockedByVendorId(vendorId);
+    }
 }
@@ -0,0 +1,125 @@
+package com.gpis.marketplace_link.services.publications;
+
+import com.gpis.marketplace_link.entities.FileDeletion;
+import com.gpis.marketplace_link.enums.ImageVariant;
+import com.gpis.marketplace_link.repositories.FileDeletionRepository;
+import com.gpis.marketplace_link.repositories.PublicationImageRepository;
+import com.gpis.marketplace_link.services.publications.valueObjects.StoredFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Borrado diferido de archivos (outbox en file_deletions).
+ * <p>
+ * Las operaciones de usuario solo registran el archivo a borrar dentro de su transacción, así que responden sin
+ * esperar al almacenamiento y, si la transacción se revierte, el borrado tampoco ocurre. FileDeletionWorker procesa
+ * la cola por lotes, vuelve a comprobar que ninguna publicación use el archivo (pueden compartirlo, ver
+ * FileStorageService) y reintenta los fallos con espera exponencial hasta conseguirlo.
+ * <p>
+ * Cada borrado espera FILE_DELETION_GRACE_SECONDS antes de procesarse, y reutilizar el archivo vuelve a aplazarlo:
+ * una publicación que lo reutilizó y aún no confirmó su transacción tiene ese margen para que su referencia cuente.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileDeletionService {
+
+    private static final int BATCH_SIZE = 100;
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    // Tiempo máximo que una fila queda reclamada; si la instancia cae, se reintenta al vencer
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(5);
+
+    private final FileDeletionRepository fileDeletionRepository;
+    private final PublicationImageRepository publicationImageRepository;
+    private final FileStorageService fileStorageService;
+
+    @Value("${FILE_DELETION_GRACE_SECONDS:600}")
+    private long graceSeconds;
+
+    @Transactional
+    public void enqueue(Collection<StoredFile> files) {
+        Map<String, StoredFile> byPath = new LinkedHashMap<>();
+        files.stream()
+                .filter(file -> file.path() != null && !file.path().isBlank())
+                .forEach(file -> byPath.putIfAbsent(file.path(), file));
+        if (byPath.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime notBefore = LocalDateTime.now().plusSeconds(graceSeconds);
+        List<FileDeletion> deletions = byPath.values().stream()
+                .map(file -> {
+                    FileDeletion deletion = new FileDeletion();
+                    deletion.setPath(file.path());
+                    deletion.setVariantFormat(file.variantFormat());
+                    deletion.setNextAttemptAt(notBefore);
+                    return deletion;
+                })
+                .toList();
+        fileDeletionRepository.saveAll(deletions);
+    }
+
+    /**
+     * Procesa un lote de borrados vencidos.
+     * <p>
+     * Las filas se reclaman en una transacción corta (claimDueBatch) y el almacenamiento se borra fuera de
+     * cualquier transacción: un backend lento no retiene conexiones ni bloqueos. Cada fila se cierra después
+     * por separado, eliminándola o devolviéndola a la cola con espera creciente.
+     *
+     * @return cantidad de filas tomadas; 0 si la cola no tiene nada pendiente
+     */
+    public int processBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<FileDeletion> batch = fileDeletionRepository.claimDueBatch(now, now.plus(CLAIM_LEASE), BATCH_SIZE);
+
+        int deleted = 0;
+        for (FileDeletion deletion : batch) {
+            if (publicationImageRepository.isReferencedByActivePublication(referencingPaths(deletion.getPath()))) {
+                // Otra publicación volvió a usar el mismo contenido: no se borra
+                fileDeletionRepository.deleteById(deletion.getId());
+                continue;
+            }
+
+            try {
+                fileStorageService.deleteStoredFile(new StoredFile(deletion.getPath(), deletion.getVariantFormat()));
+            } catch (RuntimeException ex) {
+                int attempts = deletion.getAttempts() + 1;
+                fileDeletionRepository.release(deletion.getId(), attempts,
+                        LocalDateTime.now().plus(backoff(attempts)), ex.getMessage());
+                log.warn("⚠️ No se pudo eliminar {} (intento {}): {}", deletion.getPath(), attempts, ex.getMessage());
+                continue;
+            }
+            fileDeletionRepository.deleteById(deletion.getId());
+            deleted++;
+        }
+
+        if (!batch.isEmpty()) {
+            log.info("🗑️ Cola de borrado: {} archivos eliminados de {} procesados", deleted, batch.size());
+        }
+        return batch.size();
+    }
+
+    // Una variante encolada sola (OrphanFileCollector) sigue viva mientras se use su original
+    private List<String> referencingPaths(String path) {
+        List<String> paths = new ArrayList<>(ImageVariant.originalPathsOf(path));
+        paths.add(path);
+        return paths;
+    }
+
+    // 30 s, 1 min, 2 min, ... hasta 1 h
+    private Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(30L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+}
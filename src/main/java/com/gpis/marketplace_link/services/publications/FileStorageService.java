@@ -1,18 +1,39 @@
 package com.gpis.marketplace_link.services.publications;
 
+import com.gpis.marketplace_link.entities.FileDeletion;
+import com.gpis.marketplace_link.enums.ImageVariant;
 import com.gpis.marketplace_link.exceptions.business.publications.UploadFolderException;
+import com.gpis.marketplace_link.repositories.FileDeletionRepository;
 import com.gpis.marketplace_link.services.AzureBlobStorageService;
+import com.gpis.marketplace_link.services.publications.valueObjects.StoredFile;
+import com.gpis.marketplace_link.services.publications.valueObjects.StoredObject;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -26,6 +47,19 @@ public class FileStorageService {
     @Autowired(required = false)
     private AzureBlobStorageService azureBlobStorageService;
 
+    @Autowired
+    @Qualifier("imageUploadExecutor")
+    private Executor imageUploadExecutor;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private FileDeletionRepository fileDeletionRepository;
+
+    @Value("${FILE_DELETION_GRACE_SECONDS:600}")
+    private long deletionGraceSeconds;
+
     public FileStorageService() {
         this.fileStorageLocation = Paths.get("uploads").toAbsolutePath().normalize();
         try {
@@ -37,52 +71,253 @@ public class FileStorageService {
     }
 
     /**
-     * Almacena un archivo usando Azure Blob Storage (si está habilitado) o sistema de archivos local
+     * Almacena un archivo usando Azure Blob Storage (si está habilitado) o sistema de archivos local,
+     * junto con sus variantes redimensionadas (ver {@link ImageVariantService}).
+     * <p>
+     * El nombre se deriva del SHA-256 del contenido, así que la misma imagen se guarda una sola vez: si ya
+     * existe, se reutiliza sin volver a subirla. Las referencias se cuentan en publication_images.path.
+     * Antes de reutilizarlo se aplazan sus borrados en cola (ver {@link #reserveForReuse}).
      * 
      * @param file archivo a almacenar
-     * @return URL completa si usa Azure, o nombre del archivo si usa almacenamiento local
+     * @return referencia del original (URL completa si usa Azure, o nombre del archivo si usa almacenamiento local),
+     *         formato de las variantes y si el contenido ya existía
      */
-    public String storeFile(MultipartFile file) {
+    public StoredFile storeFile(MultipartFile file) {
+        String fileName = contentAddressedName(file);
+
+        StoredFile original = storeOriginal(file, fileName);
+        if (original.reused()) {
+            String format = imageVariantService.getFormat();
+            if (fileExists(ImageVariant.THUMBNAIL.pathFor(original.path(), format))) {
+                log.info("♻️ Imagen ya almacenada, se reutiliza: {}", original.path());
+                return new StoredFile(original.path(), format, true);
+            }
+        }
+        return new StoredFile(original.path(), storeVariants(file, original.path()), original.reused());
+    }
+
+    private StoredFile storeOriginal(MultipartFile file, String fileName) {
         // Si Azure Storage está habilitado, usar Azure Blob Storage
         if (azureStorageEnabled && azureBlobStorageService != null) {
+            String blobName = "products/" + fileName;
             try {
-                String blobUrl = azureBlobStorageService.uploadFile(file, "products");
+                if (!reserveForReuse(azureBlobStorageService.getBlobUrl(blobName))) {
+                    blobName = "products/" + uniqueName(fileName);
+                } else if (azureBlobStorageService.blobExists(blobName)) {
+                    return new StoredFile(azureBlobStorageService.getBlobUrl(blobName), null, true);
+                }
+                String blobUrl = azureBlobStorageService.uploadFile(file, blobName);
                 log.info("✅ Archivo subido a Azure Blob Storage: {}", blobUrl);
-                return blobUrl; // Retornar URL completa
-            } catch (IOException ex) {
+                return new StoredFile(blobUrl, null, false); // Retornar URL completa
+            } catch (IOException | RuntimeException ex) {
                 log.error("❌ Error al subir archivo a Azure, usando almacenamiento local como fallback", ex);
                 // Fallback a almacenamiento local si falla Azure
-                return storeFileLocally(file);
+                return storeFileLocally(file, fileName);
             }
         }
         
         // Usar almacenamiento local
-        return storeFileLocally(file);
+        return storeFileLocally(file, fileName);
     }
 
     /**
-     * Almacena archivo en el sistema de archivos local (método original)
+     * Aplaza los borrados en cola de {@code reference} y de sus variantes para que el worker no los elimine mientras
+     * la publicación que los reutiliza aún no confirmó su transacción. Se llama antes de comprobar si el archivo
+     * existe.
+     *
+     * @return false si un worker está borrando alguno de esos archivos en este momento; entonces no se puede
+     *         reutilizar
      */
-    private String storeFileLocally(MultipartFile file) {
+    private boolean reserveForReuse(String reference) {
+        String format = imageVariantService.getFormat();
+        List<String> paths = new ArrayList<>();
+        paths.add(reference);
+        for (ImageVariant variant : ImageVariant.values()) {
+            paths.add(variant.pathFor(reference, format));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        fileDeletionRepository.postponeByPaths(paths, now, now.plusSeconds(deletionGraceSeconds));
+        return !fileDeletionRepository.existsByPathInAndClaimedUntilAfter(paths, now);
+    }
+
+    // Mismo contenido con nombre propio, para cuando la copia compartida se está borrando
+    private String uniqueName(String fileName) {
+        String suffix = "-" + UUID.randomUUID().toString().substring(0, 8);
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? fileName + suffix : fileName.substring(0, dot) + suffix + fileName.substring(dot);
+    }
+
+    /**
+     * "{sha256}.{extensión}" calculado leyendo el archivo por bloques, sin cargarlo completo en memoria.
+     */
+    private String contentAddressedName(MultipartFile file) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException ex) {
+            throw new UploadFolderException("No se pudo leer el archivo " + file.getOriginalFilename(), ex);
+        }
+
         String originalFileName = file.getOriginalFilename();
         String extension = "";
-
         if (originalFileName != null && originalFileName.contains(".")) {
-            extension = originalFileName.substring(originalFileName.lastIndexOf("."));
+            extension = originalFileName.substring(originalFileName.lastIndexOf(".")).toLowerCase();
+        }
+        return HexFormat.of().formatHex(digest.digest()) + extension;
+    }
+
+    /**
+     * Guarda las variantes junto al original. Si no se pueden generar o guardar, la imagen queda solo con el
+     * original (variantFormat = null) y la subida no falla.
+     */
+    private String storeVariants(MultipartFile file, String reference) {
+        Map<ImageVariant, byte[]> variants = imageVariantService.generate(file);
+        if (variants.isEmpty()) {
+            return null;
         }
 
-        String fileName = UUID.randomUUID().toString().concat(extension);
+        String format = imageVariantService.getFormat();
+        try {
+            for (Map.Entry<ImageVariant, byte[]> variant : variants.entrySet()) {
+                String variantReference = variant.getKey().pathFor(reference, format);
+                if (isAzureReference(reference)) {
+                    azureBlobStorageService.uploadBytes(variantReference, variant.getValue(), imageVariantService.getContentType());
+                } else {
+                    Files.write(getFilePath(variantReference), variant.getValue());
+                }
+            }
+            return format;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("⚠️ No se pudieron guardar las variantes de {}: {}", reference, ex.getMessage());
+            deleteVariantsQuietly(reference, format);
+            return null;
+        }
+    }
 
+    /**
+     * Almacena varios archivos en paralelo y devuelve sus referencias en el mismo orden.
+     * Si alguno falla, los que sí se subieron se encolan para borrarse y se propaga el error.
+     */
+    public List<StoredFile> storeFiles(List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            return List.of();
+        }
+
+        List<CompletableFuture<StoredFile>> uploads = files.stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> storeFile(file), imageUploadExecutor))
+                .toList();
+
+        try {
+            CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            discardQuietly(uploads.stream()
+                    .filter(upload -> !upload.isCompletedExceptionally())
+                    .map(CompletableFuture::join)
+                    .filter(stored -> !stored.reused())
+                    .toList());
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new UploadFolderException("No se pudieron almacenar las imágenes", ex.getCause());
+        }
+
+        return uploads.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    /**
+     * Deshace subidas recién hechas sin propagar errores. No se borran al momento: otra subida concurrente del
+     * mismo contenido pudo reutilizarlas, así que pasan por la cola de FileDeletionService (con su margen y la
+     * comprobación de referencias).
+     */
+    private void discardQuietly(List<StoredFile> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        LocalDateTime notBefore = LocalDateTime.now().plusSeconds(deletionGraceSeconds);
         try {
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation);
+            fileDeletionRepository.saveAll(files.stream()
+                    .map(file -> {
+                        FileDeletion deletion = new FileDeletion();
+                        deletion.setPath(file.path());
+                        deletion.setVariantFormat(file.variantFormat());
+                        deletion.setNextAttemptAt(notBefore);
+                        return deletion;
+                    })
+                    .toList());
+        } catch (RuntimeException ex) {
+            // El sweeper de huérfanos los recogerá
+            log.warn("⚠️ No se pudieron encolar {} archivos para borrar: {}", files.size(), ex.getMessage());
+        }
+    }
+
+    private void deleteVariantsQuietly(String reference, String format) {
+        if (reference == null || format == null) {
+            return;
+        }
+        for (ImageVariant variant : ImageVariant.values()) {
+            String variantReference = variant.pathFor(reference, format);
+            try {
+                deleteFile(variantReference);
+            } catch (RuntimeException ex) {
+                log.warn("⚠️ No se pudo eliminar la variante {}: {}", variantReference, ex.getMessage());
+            }
+        }
+    }
+
+    private boolean isAzureReference(String reference) {
+        return azureStorageEnabled && azureBlobStorageService != null && reference.startsWith("https://");
+    }
+
+    /**
+     * Almacena archivo en el sistema de archivos local. Se escribe en un temporal y se mueve de forma atómica,
+     * así una subida concurrente del mismo contenido nunca ve un archivo a medias.
+     */
+    private StoredFile storeFileLocally(MultipartFile file, String fileName) {
+        if (!reserveForReuse(fileName)) {
+            fileName = uniqueName(fileName);
+        }
+        Path targetLocation = this.fileStorageLocation.resolve(fileName);
+        if (Files.exists(targetLocation)) {
+            return new StoredFile(fileName, null, true);
+        }
+
+        Path tempFile = null;
+        try (InputStream in = file.getInputStream()) {
+            tempFile = Files.createTempFile(this.fileStorageLocation, "upload-", ".tmp");
+            Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, targetLocation, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
             log.info("📁 Archivo guardado localmente: {}", fileName);
-            return fileName; // Solo retornar nombre del archivo
+            return new StoredFile(fileName, null, false); // Solo retornar nombre del archivo
         } catch (IOException ex) {
+            deleteTempQuietly(tempFile);
             throw new UploadFolderException("No se pudo almacenar el archivo " + fileName, ex);
         }
     }
 
+    private void deleteTempQuietly(Path tempFile) {
+        if (tempFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException ex) {
+            log.warn("⚠️ No se pudo eliminar el temporal {}", tempFile);
+        }
+    }
+
     /**
      * Obtiene la ruta del archivo (solo para almacenamiento local)
      */
@@ -90,6 +325,54 @@ public class FileStorageService {
         return this.fileStorageLocation.resolve(fileName);
     }
 
+    /**
+     * Resuelve un archivo local por su nombre; vacío si no existe o si el nombre intenta salir de uploads/.
+     */
+    public Optional<Path> resolveLocalFile(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            return Optional.empty();
+        }
+        Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
+        if (!filePath.getParent().equals(this.fileStorageLocation) || !Files.isRegularFile(filePath)) {
+            return Optional.empty();
+        }
+        return Optional.of(filePath);
+    }
+
+    /**
+     * Lista lo almacenado en uploads/ y, si está habilitado, en Azure (products/). Se recorre de forma perezosa;
+     * quien lo consuma debe cerrar el stream.
+     */
+    public Stream<StoredObject> listStoredFiles() {
+        Stream<StoredObject> local = listLocalFiles();
+        if (azureStorageEnabled && azureBlobStorageService != null) {
+            return Stream.concat(local, azureBlobStorageService.listBlobs("products/"));
+        }
+        return local;
+    }
+
+    private Stream<StoredObject> listLocalFiles() {
+        try {
+            return Files.list(this.fileStorageLocation)
+                    .filter(Files::isRegularFile)
+                    .map(this::toStoredObject)
+                    .flatMap(Optional::stream);
+        } catch (IOException ex) {
+            throw new UploadFolderException("No se pudo listar el directorio de subida de archivos", ex);
+        }
+    }
+
+    // El archivo puede desaparecer mientras se recorre el directorio
+    private Optional<StoredObject> toStoredObject(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return Optional.of(new StoredObject(path.getFileName().toString(),
+                    attributes.lastModifiedTime().toInstant(), attributes.size()));
+        } catch (IOException ex) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Verifica si un archivo existe
      * Soporta tanto URLs de Azure como nombres de archivo locales
@@ -109,6 +392,19 @@ public class FileStorageService {
         return Files.exists(filePath);
     }
 
+    /**
+     * Elimina el original y sus variantes. Lanza UploadFolderException en el primer fallo; como borrar es
+     * idempotente, se puede reintentar completo (lo usa FileDeletionService).
+     */
+    public void deleteStoredFile(StoredFile file) {
+        deleteFile(file.path());
+        if (file.variantFormat() != null) {
+            for (ImageVariant variant : ImageVariant.values()) {
+                deleteFile(variant.pathFor(file.path(), file.variantFormat()));
+            }
+        }
+    }
+
     /**
      * Elimina un archivo
      * Soporta tanto URLs de Azure como nombres de archivo locales
@@ -121,11 +417,8 @@ public class FileStorageService {
         try {
             // Si es una URL de Azure Blob Storage
             if (azureStorageEnabled && fileReference.startsWith("https://") && azureBlobStorageService != null) {
-                boolean deleted = azureBlobStorageService.deleteFile(fileReference);
-                if (deleted) {
+                if (azureBlobStorageService.deleteFile(fileReference)) {
                     log.info("🗑️ Archivo eliminado de Azure Blob Storage: {}", fileReference);
-                } else {
-                    log.warn("⚠️ No se pudo eliminar el archivo de Azure: {}", fileReference);
                 }
                 return;
             }
@@ -1,13 +1,28 @@
 package com.gpis.marketplace_link.services.publications;
 
+import com.gpis.marketplace_link.exceptions.business.publications.ImageTooLargeException;
 import com.gpis.marketplace_link.exceptions.business.publications.InvalidImageFileException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
+/**
+ * Valida las imágenes subidas leyendo únicamente su cabecera.
+ * <p>
+ * Los tamaños se comprueban con {@link MultipartFile#getSize()} antes de abrir el archivo, y la firma y las
+ * dimensiones se obtienen del stream sin copiar el contenido completo a memoria.
+ */
 @Service
 public class ImageValidationService {
 
@@ -16,16 +31,43 @@ public class ImageValidationService {
             "image/png", "image/jpg", "image/jpeg", "image/gif", "image/webp"
     );
 
-    private static final List<String> IMAGE_SIGNATURES = Arrays.asList(
-            "ffd8ff",    // JPEG
-            "89504e47",  // PNG
-            "47494638",  // GIF
-            "52494646"   // WEBP 
-    );
-
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF_SIGNATURE = {'G', 'I', 'F', '8'};
+    private static final byte[] RIFF_SIGNATURE = {'R', 'I', 'F', 'F'};
+    private static final byte[] WEBP_SIGNATURE = {'W', 'E', 'B', 'P'};
+
+    // Suficiente para la firma y para las dimensiones de PNG, GIF y WEBP
+    private static final int HEADER_LENGTH = 30;
+
+    private final long maxFileSize;
+    private final long maxRequestSize;
+    private final int maxDimension;
+    private final long maxPixels;
+
+    public ImageValidationService(
+            @Value("${IMAGE_MAX_FILE_SIZE_BYTES:5242880}") long maxFileSize,
+            @Value("${IMAGE_MAX_REQUEST_SIZE_BYTES:31457280}") long maxRequestSize,
+            @Value("${IMAGE_MAX_DIMENSION:8000}") int maxDimension,
+            @Value("${IMAGE_MAX_PIXELS:40000000}") long maxPixels) {
+        this.maxFileSize = maxFileSize;
+        this.maxRequestSize = maxRequestSize;
+        this.maxDimension = maxDimension;
+        this.maxPixels = maxPixels;
+    }
 
     public void validateImages(List<MultipartFile> files) {
 
+        long totalSize = 0;
+        for (MultipartFile file : files) {
+            totalSize += file.getSize();
+        }
+        if (totalSize > maxRequestSize) {
+            throw new ImageTooLargeException(
+                    String.format("El total de las imágenes (%d bytes) supera el máximo permitido de %d bytes", totalSize, maxRequestSize)
+            );
+        }
+
         for (MultipartFile file : files) {
             validateSingleImage(file);
         }
@@ -39,6 +81,12 @@ public class ImageValidationService {
 
         String fileName = file.getOriginalFilename();
 
+        if (file.getSize() > maxFileSize) {
+            throw new ImageTooLargeException(
+                    String.format("El archivo '%s' supera el tamaño máximo permitido de %d bytes", fileName, maxFileSize)
+            );
+        }
+
 
         String extension = getFileExtension(fileName);
         if (!ALLOWED_EXTENSIONS.contains(extension.toLowerCase())) {
@@ -56,46 +104,137 @@ public class ImageValidationService {
         }
 
 
+        int[] dimensions;
         try {
-            if (!hasValidImageSignature(file)) {
-                throw new InvalidImageFileException(
-                        String.format("El archivo '%s' no es una imagen real. Solo se permiten archivos de imagen válidos", fileName)
-                );
-            }
+            dimensions = readDimensions(file);
         } catch (IOException e) {
             throw new InvalidImageFileException(
                     String.format("Error al validar el archivo '%s': %s", fileName, e.getMessage())
             );
         }
-    }
 
+        if (dimensions == null) {
+            throw new InvalidImageFileException(
+                    String.format("El archivo '%s' no es una imagen real. Solo se permiten archivos de imagen válidos", fileName)
+            );
+        }
 
-    private boolean hasValidImageSignature(MultipartFile file) throws IOException {
-        byte[] fileBytes = file.getBytes();
-        if (fileBytes.length < 4) {
-            return false;
+        int width = dimensions[0];
+        int height = dimensions[1];
+        if (width <= 0 || height <= 0
+                || width > maxDimension || height > maxDimension
+                || (long) width * height > maxPixels) {
+            throw new InvalidImageFileException(
+                    String.format("El archivo '%s' tiene dimensiones no permitidas (%dx%d). Máximo %d px por lado", fileName, width, height, maxDimension)
+            );
         }
+    }
+
 
+    /**
+     * Identifica el formato por su firma y devuelve {ancho, alto} leídos de la cabecera,
+     * o null si el archivo no es una imagen soportada.
+     */
+    private int[] readDimensions(MultipartFile file) throws IOException {
+        try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+            in.mark(HEADER_LENGTH);
+            byte[] header = in.readNBytes(HEADER_LENGTH);
+            in.reset();
+
+            if (startsWith(header, PNG_SIGNATURE)) {
+                return readPngDimensions(header);
+            }
+            if (startsWith(header, GIF_SIGNATURE)) {
+                return readGifDimensions(header);
+            }
+            if (startsWith(header, RIFF_SIGNATURE) && startsWith(header, 8, WEBP_SIGNATURE)) {
+                return readWebpDimensions(header);
+            }
+            if (startsWith(header, JPEG_SIGNATURE)) {
+                // En JPEG el tamaño está en el segmento SOF, que puede venir después de los metadatos EXIF
+                return readWithImageIO(in, "jpeg");
+            }
+            return null;
+        }
+    }
 
-        String fileSignature = bytesToHex(Arrays.copyOfRange(fileBytes, 0, Math.min(4, fileBytes.length)));
+    private int[] readPngDimensions(byte[] header) {
+        // El chunk IHDR siempre es el primero: ancho y alto big-endian en los bytes 16-23
+        if (!startsWith(header, 12, new byte[]{'I', 'H', 'D', 'R'}) || header.length < 24) {
+            return null;
+        }
+        return new int[]{readIntBE(header, 16), readIntBE(header, 20)};
+    }
 
+    private int[] readGifDimensions(byte[] header) {
+        // Ancho y alto little-endian de 16 bits en los bytes 6-9
+        if (header.length < 10) {
+            return null;
+        }
+        return new int[]{readShortLE(header, 6), readShortLE(header, 8)};
+    }
 
-        for (String signature : IMAGE_SIGNATURES) {
-            if (fileSignature.startsWith(signature.substring(0, Math.min(6, signature.length())))) {
-                return true;
+    private int[] readWebpDimensions(byte[] header) {
+        if (header.length < 30) {
+            return null;
+        }
+        // Primer chunk después de "RIFF....WEBP"
+        if (startsWith(header, 12, new byte[]{'V', 'P', '8', 'X'})) {
+            int width = 1 + (header[24] & 0xFF | (header[25] & 0xFF) << 8 | (header[26] & 0xFF) << 16);
+            int height = 1 + (header[27] & 0xFF | (header[28] & 0xFF) << 8 | (header[29] & 0xFF) << 16);
+            return new int[]{width, height};
+        }
+        if (startsWith(header, 12, new byte[]{'V', 'P', '8', 'L'})) {
+            if (header[20] != 0x2F) {
+                return null;
             }
+            int bits = header[21] & 0xFF | (header[22] & 0xFF) << 8 | (header[23] & 0xFF) << 16 | (header[24] & 0xFF) << 24;
+            return new int[]{1 + (bits & 0x3FFF), 1 + ((bits >> 14) & 0x3FFF)};
         }
+        if (startsWith(header, 12, new byte[]{'V', 'P', '8', ' '})) {
+            if ((header[23] & 0xFF) != 0x9D || (header[24] & 0xFF) != 0x01 || (header[25] & 0xFF) != 0x2A) {
+                return null;
+            }
+            return new int[]{readShortLE(header, 26) & 0x3FFF, readShortLE(header, 28) & 0x3FFF};
+        }
+        return null;
+    }
 
-        return false;
+    private int[] readWithImageIO(InputStream in, String formatName) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName(formatName);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        // MemoryCacheImageInputStream solo guarda lo que el lector consume, no escribe archivos temporales
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(in)) {
+            reader.setInput(iis, true, true);
+            return new int[]{reader.getWidth(0), reader.getHeight(0)};
+        } catch (IOException | RuntimeException e) {
+            return null;
+        } finally {
+            reader.dispose();
+        }
     }
 
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return startsWith(data, 0, prefix);
+    }
 
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+    private static boolean startsWith(byte[] data, int offset, byte[] prefix) {
+        if (data.length < offset + prefix.length) {
+            return false;
         }
-        return sb.toString();
+        return Arrays.equals(data, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static int readIntBE(byte[] data, int offset) {
+        return (data[offset] & 0xFF) << 24 | (data[offset + 1] & 0xFF) << 16
+                | (data[offset + 2] & 0xFF) << 8 | (data[offset + 3] & 0xFF);
+    }
+
+    private static int readShortLE(byte[] data, int offset) {
+        return data[offset] & 0xFF | (data[offset + 1] & 0xFF) << 8;
     }
 
 
@@ -110,4 +249,3 @@ public class ImageValidationService {
         return filename.substring(lastDot + 1);
     }
 }
-
@@ -0,0 +1,185 @@
+package com.gpis.marketplace_link.services.publications;
+
+import com.gpis.marketplace_link.enums.ImageVariant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Genera las variantes redimensionadas ({@link ImageVariant}) de una imagen subida.
+ * <p>
+ * Se codifican en WebP si hay un escritor WebP registrado en ImageIO y su librería nativa carga en esta
+ * plataforma (se prueba al arrancar codificando una imagen de 1×1); si no, en JPEG.
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    private static final float QUALITY = 0.8f;
+
+    private static final int MAX_VARIANT_WIDTH = Arrays.stream(ImageVariant.values())
+            .mapToInt(ImageVariant::getWidth)
+            .max()
+            .orElseThrow();
+
+    private final String format;
+    private final String contentType;
+
+    public ImageVariantService() {
+        if (canEncode("webp")) {
+            this.format = "webp";
+            this.contentType = "image/webp";
+        } else {
+            this.format = "jpg";
+            this.contentType = "image/jpeg";
+        }
+        log.info("🖼️ Variantes de imágenes en formato {}", format);
+    }
+
+    /**
+     * El escritor WebP puede estar registrado aunque su librería nativa no cargue (p. ej. compilada para glibc
+     * en una imagen musl/Alpine): eso solo se descubre al codificar, y llega como LinkageError.
+     */
+    private static boolean canEncode(String format) {
+        if (!ImageIO.getImageWritersByFormatName(format).hasNext()) {
+            return false;
+        }
+        try {
+            encode(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), format);
+            return true;
+        } catch (IOException | RuntimeException | LinkageError e) {
+            log.warn("⚠️ El escritor {} no funciona en esta plataforma, se usa JPEG: {}", format, e.toString());
+            return false;
+        }
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Devuelve los bytes codificados de cada variante, o un mapa vacío si la imagen no se puede decodificar.
+     * Nunca se amplía la imagen: si es más pequeña que una variante, esa variante conserva el tamaño original.
+     */
+    public Map<ImageVariant, byte[]> generate(MultipartFile file) {
+        Map<ImageVariant, byte[]> variants = new EnumMap<>(ImageVariant.class);
+        try {
+            BufferedImage source = decode(file);
+            if (source == null) {
+                return variants;
+            }
+            for (ImageVariant variant : ImageVariant.values()) {
+                variants.put(variant, encode(resize(source, variant.getWidth()), format));
+            }
+        } catch (IOException | RuntimeException | LinkageError e) {
+            // LinkageError: fallo de la librería nativa del codificador; se pierden las variantes, no la subida
+            log.warn("⚠️ No se pudieron generar las variantes de {}: {}", file.getOriginalFilename(), e.getMessage());
+            variants.clear();
+        }
+        return variants;
+    }
+
+    /**
+     * Decodifica con submuestreo para no cargar en memoria más píxeles de los que necesita la variante más grande.
+     */
+    private BufferedImage decode(MultipartFile file) throws IOException {
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(new BufferedInputStream(file.getInputStream()))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int subsampling = Math.max(1, reader.getWidth(0) / (MAX_VARIANT_WIDTH * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reduce a la mitad en varios pasos y termina con un escalado bilineal; mejor calidad que un solo paso.
+     */
+    private BufferedImage resize(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, Math.round((float) source.getHeight() * targetWidth / source.getWidth()));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // Siempre RGB: se aplana la transparencia sobre blanco (JPEG no la admite)
+    private BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0) {
+                    param.setCompressionType(Arrays.stream(types)
+                            .filter(type -> type.equalsIgnoreCase("Lossy"))
+                            .findFirst()
+                            .orElse(types[0]));
+                }
+                param.setCompressionQuality(QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
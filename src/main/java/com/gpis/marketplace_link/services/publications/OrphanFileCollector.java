@@ -0,0 +1,147 @@
+package com.gpis.marketplace_link.services.publications;
+
+import com.gpis.marketplace_link.enums.ImageVariant;
+import com.gpis.marketplace_link.repositories.PublicationImageRepository;
+import com.gpis.marketplace_link.services.publications.valueObjects.OrphanSweepReport;
+import com.gpis.marketplace_link.services.publications.valueObjects.StoredFile;
+import com.gpis.marketplace_link.services.publications.valueObjects.StoredObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Busca archivos del almacenamiento que ninguna fila de publication_images referencia (subidas de transacciones
+ * revertidas, restos de fallos o temporales de escritura) y los encola en file_deletions.
+ * <p>
+ * Recorre el listado en streaming y lo contrasta con la base de datos por lotes. Solo considera archivos más
+ * antiguos que el periodo de gracia, para no tocar subidas cuya transacción todavía no ha confirmado. No borra
+ * directamente: el contenido se reutiliza entre publicaciones, y la cola aplica el aplazamiento de reserveForReuse
+ * y vuelve a comprobar las referencias justo antes de borrar (ver {@link FileDeletionService}). En modo dry-run
+ * solo informa de lo que encolaría.
+ */
+@Slf4j
+@Service
+public class OrphanFileCollector {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final FileStorageService fileStorageService;
+    private final FileDeletionService fileDeletionService;
+    private final PublicationImageRepository publicationImageRepository;
+    private final Duration gracePeriod;
+
+    public OrphanFileCollector(FileStorageService fileStorageService,
+                               FileDeletionService fileDeletionService,
+                               PublicationImageRepository publicationImageRepository,
+                               @Value("${ORPHAN_GC_GRACE_HOURS:24}") long gracePeriodHours) {
+        this.fileStorageService = fileStorageService;
+        this.fileDeletionService = fileDeletionService;
+        this.publicationImageRepository = publicationImageRepository;
+        this.gracePeriod = Duration.ofHours(gracePeriodHours);
+    }
+
+    public OrphanSweepReport sweep(boolean dryRun) {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        Counters counters = new Counters();
+
+        try (Stream<StoredObject> objects = fileStorageService.listStoredFiles()) {
+            List<StoredObject> batch = new ArrayList<>(BATCH_SIZE);
+            Iterator<StoredObject> iterator = objects.iterator();
+            while (iterator.hasNext()) {
+                StoredObject object = iterator.next();
+                counters.scanned++;
+                if (!object.lastModified().isBefore(cutoff)) {
+                    continue;
+                }
+                batch.add(object);
+                if (batch.size() == BATCH_SIZE) {
+                    processBatch(batch, dryRun, counters);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                processBatch(batch, dryRun, counters);
+            }
+        }
+
+        OrphanSweepReport report = new OrphanSweepReport(dryRun, counters.scanned, counters.orphans,
+                counters.orphanBytes, counters.enqueued, counters.failed);
+        log.info("🧹 Limpieza de archivos huérfanos{}: {} revisados, {} huérfanos ({} bytes), {} encolados, {} fallidos",
+                dryRun ? " (dry-run)" : "", report.scanned(), report.orphans(), report.orphanBytes(),
+                report.enqueued(), report.failed());
+        return report;
+    }
+
+    private void processBatch(List<StoredObject> batch, boolean dryRun, Counters counters) {
+        Map<StoredObject, List<String>> candidates = new LinkedHashMap<>();
+        for (StoredObject object : batch) {
+            candidates.put(object, referencingPaths(object.reference()));
+        }
+
+        Set<String> lookup = new HashSet<>();
+        candidates.values().forEach(lookup::addAll);
+        Set<String> referenced = lookup.isEmpty()
+                ? Set.of()
+                : new HashSet<>(publicationImageRepository.findExistingPaths(lookup));
+
+        List<StoredFile> orphans = new ArrayList<>();
+        candidates.forEach((object, paths) -> {
+            if (paths.stream().anyMatch(referenced::contains)) {
+                return;
+            }
+            counters.orphans++;
+            counters.orphanBytes += object.size();
+
+            if (dryRun) {
+                log.info("🧹 [dry-run] Huérfano: {} ({} bytes, modificado {})", object.reference(), object.size(), object.lastModified());
+                return;
+            }
+            // Sin formato: cada variante huérfana aparece en el listado y se encola por separado
+            orphans.add(new StoredFile(object.reference(), null));
+        });
+
+        if (orphans.isEmpty()) {
+            return;
+        }
+        try {
+            fileDeletionService.enqueue(orphans);
+            counters.enqueued += orphans.size();
+        } catch (RuntimeException ex) {
+            counters.failed += orphans.size();
+            log.warn("⚠️ No se pudieron encolar {} huérfanos: {}", orphans.size(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Paths de publication_images que mantendrían vivo el archivo: el suyo propio o, para una variante, el de
+     * su original con cualquiera de las extensiones permitidas. Los temporales de escritura no tienen ninguno.
+     */
+    private List<String> referencingPaths(String reference) {
+        String fileName = reference.substring(reference.lastIndexOf('/') + 1);
+        if (fileName.startsWith("upload-") && fileName.endsWith(".tmp")) {
+            return List.of();
+        }
+
+        List<String> originals = ImageVariant.originalPathsOf(reference);
+        return originals.isEmpty() ? List.of(reference) : originals;
+    }
+
+    private static final class Counters {
+        private long scanned;
+        private long orphans;
+        private long orphanBytes;
+        private long enqueued;
+        private long failed;
+    }
+}
@@ -19,27 +19,36 @@ import com.gpis.marketplace_link.repositories.UserRepository;
 import com.gpis.marketplace_link.repositories.CategoryRepository;
 import com.gpis.marketplace_link.repositories.ReportRepository;
 import com.gpis.marketplace_link.security.service.SecurityService;
-import com.gpis.marketplace_link.entities.Report;
 import com.gpis.marketplace_link.services.incidence.IncidenceService;
 import com.gpis.marketplace_link.services.incidence.IncidenceServiceImp;
-import com.gpis.marketplace_link.services.publications.valueObjects.DangerousWordMatch;
+import com.gpis.marketplace_link.services.publications.valueObjects.DangerousContentScan;
+import com.gpis.marketplace_link.services.publications.valueObjects.PublicationCursor;
+import com.gpis.marketplace_link.services.publications.valueObjects.StoredFile;
 import com.gpis.marketplace_link.specifications.PublicationSpecifications;
 import com.gpis.marketplace_link.enums.PublicationStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PublicationService {
@@ -55,14 +64,21 @@ public class PublicationService {
     private final FavoritePublicationService favoritePublicationService;
     private final SecurityService securityService;
     private final ReportRepository reportRepository;
+    private final MeterRegistry meterRegistry;
+    private final FileDeletionService fileDeletionService;
+    private final TransactionTemplate transactionTemplate;
+    private static final int SUSPEND_BATCH_SIZE = 1000;
     private static final Logger logger = LoggerFactory.getLogger(PublicationService.class);
+    private static final Sort FEED_SORT = Sort.by(Sort.Direction.DESC, "publicationDate")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
 
     public PublicationService(PublicationRepository repository, PublicationMapper mapper,
             FileStorageService fileStorageService, UserRepository userRepository, CategoryRepository categoryRepository,
             ImageValidationService imageValidationService, IncidenceServiceImp incidenceServiceImp,
             DangerousContentDetectedService dangerousContentDetectedService,
             FavoritePublicationService favoritePublicationService, SecurityService securityService,
-            ReportRepository reportRepository) {
+            ReportRepository reportRepository, MeterRegistry meterRegistry,
+            TransactionTemplate transactionTemplate, FileDeletionService fileDeletionService) {
         this.repository = repository;
         this.mapper = mapper;
         this.fileStorageService = fileStorageService;
@@ -74,35 +90,66 @@ public class PublicationService {
         this.favoritePublicationService = favoritePublicationService;
         this.securityService = securityService;
         this.reportRepository = reportRepository;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.fileDeletionService = fileDeletionService;
     }
 
     @Transactional(readOnly = true)
-    public Page<PublicationSummaryResponse> getAll(Pageable pageable, List<Long> categoryIds, BigDecimal minPrice,
-            BigDecimal maxPrice, Double lat, Double lon, Double distanceKm) {
-
-        Specification<Publication> spec = PublicationSpecifications.statusIs(PublicationStatus.VISIBLE.getValue())
-                .and(PublicationSpecifications.notDeleted())
-                .and(PublicationSpecifications.notSuspended())
-                .and(PublicationSpecifications.hasAnyCategory(categoryIds))
-                .and(PublicationSpecifications.priceBetween(minPrice, maxPrice))
-                .and(PublicationSpecifications.withinDistance(lat, lon, distanceKm))
-                .and(PublicationSpecifications.vendorAccountStatusIsActive());
+    public Page<PublicationSummaryResponse> getAll(Pageable pageable, String text, List<Long> categoryIds,
+            BigDecimal minPrice, BigDecimal maxPrice, Double lat, Double lon, Double distanceKm,
+            boolean sortByDistance) {
+
+        Specification<Publication> spec = publicFeedSpecification(text, categoryIds, minPrice, maxPrice, lat, lon,
+                distanceKm);
+
+        // El orden por distancia o por relevancia se define en la propia Specification, el Sort del
+        // Pageable lo sobrescribiría.
+        if (sortByDistance && lat != null && lon != null) {
+            spec = spec.and(PublicationSpecifications.orderByDistance(lat, lon));
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        } else if (text != null && !text.isBlank()) {
+            spec = spec.and(PublicationSpecifications.orderByTextRank(text));
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        }
 
         Page<Publication> publications = repository.findAll(spec, pageable);
 
-        return publications.map(pub -> {
-            PublicationSummaryResponse baseResponse = mapper.toSummaryResponse(pub);
-            Boolean canReport = calculateCanReport(pub);
-            return new PublicationSummaryResponse(
-                    baseResponse.id(),
-                    baseResponse.type(),
-                    baseResponse.name(),
-                    baseResponse.price(),
-                    baseResponse.availability(),
-                    baseResponse.publicationDate(),
-                    baseResponse.image(),
-                    canReport);
-        });
+        return toSummaryPage(publications, lat, lon);
+    }
+
+    /**
+     * Variante del feed público paginada por cursor (keyset) sobre {@code publicationDate, id}.
+     * No ejecuta la consulta COUNT y el coste de cada página no depende de su profundidad.
+     *
+     * @param cursor cursor opaco devuelto por la página anterior, o {@code null} para la primera página.
+     * @param size número de publicaciones por página.
+     * @return porción de publicaciones; {@link Slice#hasNext()} indica si existe una página siguiente.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PublicationSummaryResponse> getFeed(String cursor, int size, String text, List<Long> categoryIds,
+            BigDecimal minPrice, BigDecimal maxPrice, Double lat, Double lon, Double distanceKm) {
+
+        Specification<Publication> spec = publicFeedSpecification(text, categoryIds, minPrice, maxPrice, lat, lon,
+                distanceKm);
+
+        if (cursor != null && !cursor.isBlank()) {
+            PublicationCursor position = PublicationCursor.decode(cursor);
+            spec = spec.and(PublicationSpecifications.publishedBefore(position.publicationDate(), position.id()));
+        }
+
+        // Se pide una fila extra para saber si hay más resultados sin contar la tabla.
+        List<Publication> rows = repository.findBy(spec, q -> q.sortBy(FEED_SORT).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<Publication> content = hasNext ? rows.subList(0, size) : rows;
+
+        Set<Long> reportable = calculateCanReport(content);
+        List<PublicationSummaryResponse> summaries = content.stream()
+                .map(pub -> toSummary(pub, reportable, lat, lon))
+                .toList();
+
+        return new SliceImpl<>(summaries, PageRequest.of(0, size, FEED_SORT), hasNext);
     }
 
     @Transactional(readOnly = true)
@@ -117,19 +164,7 @@ public class PublicationService {
 
         Page<Publication> publications = repository.findAll(spec, pageable);
 
-        return publications.map(pub -> {
-            PublicationSummaryResponse baseResponse = mapper.toSummaryResponse(pub);
-            Boolean canReport = calculateCanReport(pub);
-            return new PublicationSummaryResponse(
-                    baseResponse.id(),
-                    baseResponse.type(),
-                    baseResponse.name(),
-                    baseResponse.price(),
-                    baseResponse.availability(),
-                    baseResponse.publicationDate(),
-                    baseResponse.image(),
-                    canReport);
-        });
+        return toSummaryPage(publications, null, null);
     }
 
     public PublicationResponse getById(Long id) {
@@ -140,127 +175,148 @@ public class PublicationService {
 
     }
 
-    @Transactional(noRollbackFor = DangerousContentException.class)
+    /**
+     * Las imágenes se suben en paralelo antes de abrir la transacción; la transacción solo cubre la escritura
+     * en base de datos. Si la escritura falla, las imágenes subidas se eliminan.
+     */
     public PublicationResponse create(PublicationCreateRequest request) {
 
         validateUserAndRole(request.vendorId());
 
         imageValidationService.validateImages(request.images());
 
-        List<String> imagesNames = request.images().stream()
-                .map(fileStorageService::storeFile)
-                .filter(Objects::nonNull)
-                .filter(s -> !s.isBlank())
+        List<StoredFile> storedImages = fileStorageService.storeFiles(request.images()).stream()
+                .filter(stored -> stored.path() != null && !stored.path().isBlank())
                 .toList();
 
-        Publication publication = mapper.toEntity(request);
+        return inTransactionOrDiscard(storedImages, () -> {
+            Publication publication = mapper.toEntity(request);
 
-        publication.setVendor(userRepository.getReferenceById(request.vendorId()));
-        publication.setCategory(categoryRepository.getReferenceById(request.categoryId()));
+            publication.setVendor(userRepository.getReferenceById(request.vendorId()));
+            publication.setCategory(categoryRepository.getReferenceById(request.categoryId()));
 
-        publication.setImages(new ArrayList<>());
+            publication.setImages(new ArrayList<>());
 
-        for (String path : imagesNames) {
-            PublicationImage img = new PublicationImage();
-            img.setPath(path);
-            img.setPublication(publication);
-            publication.getImages().add(img);
-        }
+            for (StoredFile stored : storedImages) {
+                publication.getImages().add(toPublicationImage(stored, publication));
+            }
 
-        validateDangerousContent(publication);
+            validateDangerousContent(publication);
 
-        publication.setStatus(PublicationStatus.VISIBLE);
-        Publication saved = repository.save(publication);
+            publication.setStatus(PublicationStatus.VISIBLE);
+            Publication saved = repository.save(publication);
 
-        return mapper.toResponse(saved);
+            return mapper.toResponse(saved);
+        });
     }
 
-    @Transactional(noRollbackFor = DangerousContentException.class)
     public PublicationResponse update(Long id, PublicationUpdateRequest request) {
 
         imageValidationService.validateImages(request.images());
 
         validateUserAndRole(request.vendorId());
 
-        Publication publication = this.validatePublication(id);
+        // Agregar solo las imágenes NUEVAS (los archivos MultipartFile), subidas fuera de la transacción
+        List<StoredFile> newImages = fileStorageService.storeFiles(request.images());
 
-        mapper.updateFromRequest(publication, request);
+        return inTransactionOrDiscard(newImages, () -> {
+            Publication publication = this.validatePublication(id);
 
-        publication.setVendor(userRepository.getReferenceById(request.vendorId()));
-        publication.setCategory(categoryRepository.getReferenceById(request.categoryId()));
-        if (request.workingHours() != null) {
-            publication.setWorkingHours(request.workingHours());
-        }
-        publication.setType(publication.getWorkingHours() != null ? PublicationType.SERVICE : PublicationType.PRODUCT);
+            mapper.updateFromRequest(publication, request);
 
-        // ✅ FIX: Obtener lista de URLs existentes que se deben mantener
-        Set<String> existingUrlsToKeep = request.existingImageUrls() != null 
-            ? new HashSet<>(request.existingImageUrls()) 
-            : new HashSet<>();
+            publication.setVendor(userRepository.getReferenceById(request.vendorId()));
+            publication.setCategory(categoryRepository.getReferenceById(request.categoryId()));
+            if (request.workingHours() != null) {
+                publication.setWorkingHours(request.workingHours());
+            }
+            publication.setType(publication.getWorkingHours() != null ? PublicationType.SERVICE : PublicationType.PRODUCT);
+
+            // ✅ FIX: Obtener lista de URLs existentes que se deben mantener
+            Set<String> existingUrlsToKeep = request.existingImageUrls() != null
+                ? new HashSet<>(request.existingImageUrls())
+                : new HashSet<>();
+
+            // ✅ FIX: Identificar imágenes a eliminar (las que NO están en existingUrlsToKeep)
+            List<PublicationImage> imagesToRemove = publication.getImages().stream()
+                    .filter(img -> !existingUrlsToKeep.contains(img.getPath()))
+                    .toList();
+
+            // Los archivos se encolan en la misma transacción: si se revierte, no se borra nada
+            List<StoredFile> removedImages = new ArrayList<>();
+            for (PublicationImage img : imagesToRemove) {
+                publication.getImages().remove(img);
+                removedImages.add(new StoredFile(img.getPath(), img.getVariantFormat()));
+            }
+            fileDeletionService.enqueue(removedImages);
 
-        // ✅ FIX: Identificar imágenes a eliminar (las que NO están en existingUrlsToKeep)
-        List<PublicationImage> imagesToRemove = publication.getImages().stream()
-                .filter(img -> !existingUrlsToKeep.contains(img.getPath()))
-                .toList();
+            for (StoredFile stored : newImages) {
+                publication.getImages().add(toPublicationImage(stored, publication));
+            }
 
-        // Eliminar imágenes que ya no se necesitan
-        for (PublicationImage img : imagesToRemove) {
-            publication.getImages().remove(img);
-            fileStorageService.deleteFile(img.getPath());
-        }
+            validateDangerousContent(publication);
 
-        // Agregar solo las imágenes NUEVAS (los archivos MultipartFile)
-        for (MultipartFile file : request.images()) {
-            String path = fileStorageService.storeFile(file);
-            PublicationImage img = new PublicationImage();
-            img.setPath(path);
-            img.setPublication(publication);
-            publication.getImages().add(img);
-        }
+            Publication saved = repository.save(publication);
 
-        validateDangerousContent(publication);
+            return mapper.toResponse(saved);
+        });
+    }
 
-        Publication saved = repository.save(publication);
+    private PublicationImage toPublicationImage(StoredFile stored, Publication publication) {
+        PublicationImage img = new PublicationImage();
+        img.setPath(stored.path());
+        img.setVariantFormat(stored.variantFormat());
+        img.setPublication(publication);
+        return img;
+    }
 
-        return mapper.toResponse(saved);
+    /**
+     * Ejecuta la escritura en una transacción. DangerousContentException confirma la transacción (la publicación
+     * queda en revisión con su reporte) y se relanza después del commit; cualquier otro error la revierte y
+     * elimina los archivos subidos para esta operación.
+     */
+    private PublicationResponse inTransactionOrDiscard(List<StoredFile> uploadedFiles, Supplier<PublicationResponse> write) {
+        DangerousContentException[] rejected = new DangerousContentException[1];
+        PublicationResponse response;
+        try {
+            response = transactionTemplate.execute(status -> {
+                try {
+                    return write.get();
+                } catch (DangerousContentException ex) {
+                    rejected[0] = ex;
+                    return null;
+                }
+            });
+        } catch (RuntimeException ex) {
+            // Solo lo que esta operación creó; el contenido reutilizado pertenece también a otras publicaciones.
+            // Si tampoco se puede encolar (p. ej. la base está caída), se conserva el error original.
+            try {
+                fileDeletionService.enqueue(uploadedFiles.stream().filter(stored -> !stored.reused()).toList());
+            } catch (RuntimeException enqueueEx) {
+                logger.warn("No se pudieron encolar los archivos subidos para borrarlos: {}", enqueueEx.getMessage());
+                ex.addSuppressed(enqueueEx);
+            }
+            throw ex;
+        }
 
+        if (rejected[0] != null) {
+            throw rejected[0];
+        }
+        return response;
     }
 
     @Transactional
     public void blockPublicationsByVendor(Long vendorId) {
-        List<Publication> publications = repository.findAllByVendorIdAndDeletedAtIsNull(vendorId);
-        List<Publication> toUpdate = new ArrayList<>();
-        for (Publication publication : publications) {
-            if (publication.getStatus() != PublicationStatus.BLOCKED) {
-                publication.setPreviousStatus(publication.getStatus());
-                publication.setStatus(PublicationStatus.BLOCKED);
-            }
-            favoritePublicationService.removeFavoritesByPublicationId(publication.getId());
-            toUpdate.add(publication);
-        }
-        if (!toUpdate.isEmpty()) {
-            repository.saveAll(toUpdate);
-        }
+        favoritePublicationService.removeFavoritesByVendorId(vendorId);
+        int blocked = repository.blockAllByVendorId(vendorId);
+        logger.info("Se han bloqueado {} publicaciones del vendedor {}", blocked, vendorId);
     }
 
     @Transactional
     public void restorePublicationsByVendor(Long vendorId) {
-        List<Publication> publications = repository.findAllByVendorIdAndDeletedAtIsNull(vendorId);
-        List<Publication> toUpdate = new ArrayList<>();
-        for (Publication publication : publications) {
-            if (publication.getStatus() == PublicationStatus.BLOCKED) {
-                PublicationStatus previous = publication.getPreviousStatus() != null
-                        ? publication.getPreviousStatus()
-                        : PublicationStatus.VISIBLE;
-                publication.setStatus(previous);
-                publication.setPreviousStatus(null);
-                favoritePublicationService.restoreFavoritesByPublicationId(publication.getId());
-                toUpdate.add(publication);
-            }
-        }
-        if (!toUpdate.isEmpty()) {
-            repository.saveAll(toUpdate);
-        }
+        // Los favoritos se restauran primero: se seleccionan por status = BLOCKED.
+        favoritePublicationService.restoreFavoritesByVendorId(vendorId);
+        int restored = repository.restoreAllByVendorId(vendorId);
+        logger.info("Se han restaurado {} publicaciones del vendedor {}", restored, vendorId);
     }
 
     @Transactional
@@ -276,9 +332,9 @@ public class PublicationService {
 
         favoritePublicationService.removeFavoritesByPublicationId(publication.getId());
 
-        List<String> imagePaths = publication.getImages().stream()
-                .map(PublicationImage::getPath)
-                .filter(Objects::nonNull)
+        List<StoredFile> images = publication.getImages().stream()
+                .filter(img -> img.getPath() != null)
+                .map(img -> new StoredFile(img.getPath(), img.getVariantFormat()))
                 .toList();
 
         publication.setDeletedAt(LocalDateTime.now());
@@ -286,27 +342,37 @@ public class PublicationService {
 
         repository.save(publication);
 
-        for (String path : imagePaths)
-            fileStorageService.deleteFile(path);
+        // Se borran después del commit, y solo si ninguna otra publicación usa el mismo archivo
+        fileDeletionService.enqueue(images);
 
     }
 
-    public void suspendedPublicationsOlderThan(Integer limit) {
-
-        LocalDateTime now = LocalDateTime.now();
-
-        List<Publication> publications = this.repository.findAll();
-
-        List<Publication> toSuspend = new ArrayList<>();
-        for (Publication pub : publications) {
-            if (pub.getPublicationDate().plusSeconds(limit).isBefore(now) && !pub.isSuspended()) {
-                pub.setSuspended(true);
-                toSuspend.add(pub);
-                logger.info("Se ha suspendido la publicación con id: {}", pub.getId());
-            }
-        }
-        repository.saveAll(toSuspend);
-
+    /**
+     * Suspende las publicaciones con más de {@code days} días de antigüedad.
+     *
+     * Se ejecuta como UPDATE por lotes en base de datos (sin cargar las entidades) y
+     * publica las métricas {@code publications.suspension.rows} y {@code publications.suspension.duration}.
+     *
+     * @param days antigüedad máxima, en días, de una publicación no suspendida.
+     */
+    public void suspendedPublicationsOlderThan(Integer days) {
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        int total = 0;
+        List<Long> suspendedIds;
+        do {
+            suspendedIds = repository.suspendBatchPublishedBefore(cutoff, SUSPEND_BATCH_SIZE);
+            total += suspendedIds.size();
+            logger.debug("Lote de publicaciones suspendidas: {}", suspendedIds);
+        } while (suspendedIds.size() == SUSPEND_BATCH_SIZE);
+
+        long elapsedNanos = sample.stop(meterRegistry.timer("publications.suspension.duration"));
+        meterRegistry.counter("publications.suspension.rows").increment(total);
+
+        logger.info("Se han suspendido {} publicaciones anteriores a {} en {} ms",
+                total, cutoff, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
     }
 
     public Publication validatePublication(Long id) {
@@ -324,30 +390,33 @@ public class PublicationService {
     }
 
     private void validateDangerousContent(Publication publication) {
-        if (dangerousContentDetectedService.containsDangerousContent(publication.getName())
-                || dangerousContentDetectedService.containsDangerousContent(publication.getDescription())) {
+        String content = Stream.of(publication.getName(), publication.getDescription())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+
+        // Una sola pasada: las coincidencias sirven para decidir y para el reporte.
+        DangerousContentScan scan = dangerousContentDetectedService.scan(content);
+
+        if (scan.hasMatches()) {
 
             publication.setStatus(PublicationStatus.UNDER_REVIEW);
             Publication saved = repository.save(publication);
 
-            List<DangerousWordMatch> dangerousWordsDetected = dangerousContentDetectedService.findDangerousWords(
-                    publication.getName() + " " + publication.getDescription());
-
-            this.reportPublicationForDangerousContent(saved, dangerousWordsDetected);
+            this.reportPublicationForDangerousContent(saved, scan);
 
             throw new DangerousContentException(
                     "Se ha detectado que su publicación contiene contenido peligroso, por lo que ha sido enviada a revisión, si sospecha que se ha cometido un error por favor realice una apelacion, esta le llegara a su correo electrónico.");
         }
     }
 
-    private void reportPublicationForDangerousContent(Publication publication,
-            List<DangerousWordMatch> dangerousWordsDetected) {
+    private void reportPublicationForDangerousContent(Publication publication, DangerousContentScan scan) {
         RequestSystemReport requestSystemReport = new RequestSystemReport();
         requestSystemReport.setPublicationId(publication.getId());
         requestSystemReport.setReason("Contenido peligroso detectado");
+        requestSystemReport.setDictionaryVersion(scan.dictionaryVersion());
         requestSystemReport.setComment(
                 "Se han detectado las siguientes palabras: " +
-                        dangerousWordsDetected.stream()
+                        scan.matches().stream()
                                 .map(dw -> dw.wordInText() + " (" + dw.patternMatched() + ")")
                                 .distinct()
                                 .collect(Collectors.joining(", ")));
@@ -363,29 +432,66 @@ public class PublicationService {
         }
     }
 
-    private Boolean calculateCanReport(Publication publication) {
-        try {
-            Long currentUserId = securityService.getCurrentUserId();
+    private Specification<Publication> publicFeedSpecification(String text, List<Long> categoryIds,
+            BigDecimal minPrice, BigDecimal maxPrice, Double lat, Double lon, Double distanceKm) {
+        return PublicationSpecifications.statusIs(PublicationStatus.VISIBLE.getValue())
+                .and(PublicationSpecifications.notDeleted())
+                .and(PublicationSpecifications.notSuspended())
+                .and(PublicationSpecifications.matchesText(text))
+                .and(PublicationSpecifications.hasAnyCategory(categoryIds))
+                .and(PublicationSpecifications.priceBetween(minPrice, maxPrice))
+                .and(PublicationSpecifications.withinDistance(lat, lon, distanceKm))
+                .and(PublicationSpecifications.vendorAccountStatusIsActive());
+    }
 
-            if (publication.getVendor().getId().equals(currentUserId)) {
-                return false;
-            }
+    private Page<PublicationSummaryResponse> toSummaryPage(Page<Publication> publications, Double lat, Double lon) {
+        Set<Long> reportable = calculateCanReport(publications.getContent());
 
-            Optional<Report> lastReport = reportRepository.findLastReportByReporterIdAndPublicationId(
-                    currentUserId, publication.getId());
+        return publications.map(pub -> toSummary(pub, reportable, lat, lon));
+    }
 
-            if (lastReport.isPresent()) {
-                LocalDateTime lastReportTime = lastReport.get().getCreatedAt();
-                LocalDateTime twentyFourHoursAgo = LocalDateTime.now().minusHours(24);
-                if (lastReportTime.isAfter(twentyFourHoursAgo)) {
-                    return false;
-                }
-            }
+    private PublicationSummaryResponse toSummary(Publication pub, Set<Long> reportable, Double lat, Double lon) {
+        PublicationSummaryResponse baseResponse = mapper.toSummaryResponse(pub);
+        return new PublicationSummaryResponse(
+                baseResponse.id(),
+                baseResponse.type(),
+                baseResponse.name(),
+                baseResponse.price(),
+                baseResponse.availability(),
+                baseResponse.publicationDate(),
+                baseResponse.image(),
+                reportable.contains(pub.getId()),
+                mapper.distanceKm(pub, lat, lon));
+    }
 
-            return true;
+    // Calcula en una sola consulta que publicaciones de la pagina puede reportar el usuario actual.
+    private Set<Long> calculateCanReport(List<Publication> publications) {
+        if (publications.isEmpty()) {
+            return Set.of();
+        }
+
+        Long currentUserId;
+        try {
+            currentUserId = securityService.getCurrentUserId();
         } catch (Exception e) {
-            return false;
+            return Set.of();
+        }
+
+        Set<Long> reportable = new HashSet<>();
+        for (Publication publication : publications) {
+            // getId() sobre el proxy del vendedor no inicializa la entidad.
+            if (!publication.getVendor().getId().equals(currentUserId)) {
+                reportable.add(publication.getId());
+            }
         }
+
+        if (!reportable.isEmpty()) {
+            LocalDateTime twentyFourHoursAgo = LocalDateTime.now().minusHours(24);
+            reportable.removeAll(reportRepository.findPublicationIdsReportedByReporterSince(
+                    currentUserId, reportable, twentyFourHoursAgo));
+        }
+
+        return reportable;
     }
 
 }
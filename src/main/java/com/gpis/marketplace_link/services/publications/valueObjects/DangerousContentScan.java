@@ -0,0 +1,10 @@
+package com.gpis.marketplace_link.services.publications.valueObjects;
+
+import java.util.List;
+
+public record DangerousContentScan(long dictionaryVersion, List<DangerousWordMatch> matches) {
+
+    public boolean hasMatches() {
+        return !matches.isEmpty();
+    }
+}
@@ -0,0 +1,8 @@
+package com.gpis.marketplace_link.services.publications.valueObjects;
+
+import com.gpis.marketplace_link.services.publications.DangerousWordsMatcher;
+
+public record DangerousDictionarySnapshot(long version, DangerousWordsMatcher matcher) {
+
+    public static final DangerousDictionarySnapshot EMPTY = new DangerousDictionarySnapshot(0L, DangerousWordsMatcher.empty());
+}
@@ -0,0 +1,3 @@
+package com.gpis.marketplace_link.services.publications.valueObjects;
+
+public record OrphanSweepReport(boolean dryRun, long scanned, long orphans, long orphanBytes, long enqueued, long failed) {}
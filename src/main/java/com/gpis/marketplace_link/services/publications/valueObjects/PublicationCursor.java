@@ -0,0 +1,36 @@
+package com.gpis.marketplace_link.services.publications.valueObjects;
+
+import com.gpis.marketplace_link.exceptions.business.publications.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición dentro del feed público de publicaciones, ordenado por
+ * {@code publicationDate DESC, id DESC}. Se expone al cliente como un
+ * token opaco en Base64 (url-safe) de la forma {@code publicationDate,id}.
+ */
+public record PublicationCursor(LocalDateTime publicationDate, Long id) {
+
+    public String encode() {
+        String raw = publicationDate + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PublicationCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(',');
+            if (separator < 0) {
+                throw new InvalidCursorException("El cursor de paginación no es válido");
+            }
+            return new PublicationCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("El cursor de paginación no es válido");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.gpis.marketplace_link.services.publications.valueObjects;
+
+/**
+ * Archivo almacenado: referencia del original (URL de Azure o nombre local), formato de sus variantes
+ * (null si no se pudieron generar) y si el contenido ya existía en el almacenamiento antes de esta subida.
+ */
+public record StoredFile(String path, String variantFormat, boolean reused) {
+
+    public StoredFile(String path, String variantFormat) {
+        this(path, variantFormat, false);
+    }
+}
@@ -0,0 +1,9 @@
+package com.gpis.marketplace_link.services.publications.valueObjects;
+
+import java.time.Instant;
+
+/**
+ * Entrada del listado del almacenamiento: referencia en el mismo formato que publication_images.path
+ * (URL de Azure o nombre local), fecha de modificación y tamaño en bytes.
+ */
+public record StoredObject(String reference, Instant lastModified, long size) {}
@@ -12,6 +12,8 @@ import com.gpis.marketplace_link.exceptions.business.users.AccountInactiveExcept
 import com.gpis.marketplace_link.exceptions.business.users.AccountPendingVerificationException;
 import com.gpis.marketplace_link.mail.PasswordResetUrl;
 import com.gpis.marketplace_link.repositories.UserRepository;
+import com.gpis.marketplace_link.security.service.RefreshTokenService;
+import com.gpis.marketplace_link.security.service.TokenRevocationService;
 import com.gpis.marketplace_link.services.NotificationService;
 import com.gpis.marketplace_link.services.publications.DeletePublicationByVendorUseCase;
 import com.gpis.marketplace_link.services.publications.PublicationService;
@@ -55,6 +57,8 @@ public class UserService {
     private final PublicationService publicationService;
     private final DeletePublicationByVendorUseCase deletePublicationByVendorUseCase;
     private final ReleaseModeratorAssignmentsUseCase releaseModeratorAssignmentsUseCase;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
 
     public UserService(
             UserRepository userRepo,
@@ -65,7 +69,9 @@ public class UserService {
             NotificationService notificationService,
             PublicationService publicationService,
             DeletePublicationByVendorUseCase deletePublicationByVendorUseCase,
-            ReleaseModeratorAssignmentsUseCase releaseModeratorAssignmentsUseCase
+            ReleaseModeratorAssignmentsUseCase releaseModeratorAssignmentsUseCase,
+            TokenRevocationService tokenRevocationService,
+            RefreshTokenService refreshTokenService
     ) {
         this.userRepo = userRepo;
         this.roleService = roleService;
@@ -76,6 +82,8 @@ public class UserService {
         this.publicationService = publicationService;
         this.deletePublicationByVendorUseCase = deletePublicationByVendorUseCase;
         this.releaseModeratorAssignmentsUseCase = releaseModeratorAssignmentsUseCase;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @Value("${moderator.default-password}")
@@ -264,6 +272,8 @@ public class UserService {
 
         user.setAccountStatus(AccountStatus.BLOCKED);
         userRepo.save(user);
+
+        revokeSessions(userId);
     }
 
     @Transactional
@@ -309,6 +319,14 @@ public class UserService {
 
         if (userRepo.deactivateById(userId) == 0)
             throw new ResponseStatusException(HttpStatus.CONFLICT, MSG_SOFT_DELETE_FAIL);
+
+        revokeSessions(userId);
+    }
+
+    // Invalida los access tokens ya emitidos y los refresh tokens: la cuenta deja de operar de inmediato
+    private void revokeSessions(Long userId) {
+        tokenRevocationService.revokeUser(userId);
+        refreshTokenService.revokeAll(userId);
     }
 
     @Transactional
@@ -4,8 +4,8 @@ import com.gpis.marketplace_link.entities.Publication;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Locale;
 
 public class PublicationSpecifications {
 
@@ -67,19 +67,95 @@ public class PublicationSpecifications {
             }
             double meters = Math.max(0d, distanceKm) * 1000d;
 
-            String wktPoint = String.format(Locale.US, "SRID=4326;POINT(%f %f)", lon, lat);
             return builder.isTrue(
                 builder.function(
-                    "ST_DWithin",
+                    "geography_within",
                     Boolean.class,
+                    builder.literal(lon),
+                    builder.literal(lat),
                     root.get("location"),
-                    builder.function("ST_GeogFromText", Object.class, builder.literal(wktPoint)),
                     builder.literal(meters)
                 )
             );
         };
     }
 
+    // Ordena de la publicación más cercana a la más lejana usando el operador KNN del índice GiST.
+    // No se aplica a la consulta COUNT de la paginación.
+    public static Specification<Publication> orderByDistance(Double lat, Double lon) {
+        return (root, query, builder) -> {
+            if (lat == null || lon == null || Long.class.equals(query.getResultType())) {
+                return null;
+            }
+            query.orderBy(
+                builder.asc(builder.function(
+                    "geography_knn_distance",
+                    Double.class,
+                    builder.literal(lon),
+                    builder.literal(lat),
+                    root.get("location")
+                )),
+                builder.desc(root.get("publicationDate"))
+            );
+            return null;
+        };
+    }
+
+    // Búsqueda de texto completo (configuración spanish) sobre nombre y descripción, resuelta con el índice GIN.
+    public static Specification<Publication> matchesText(String text) {
+        return (root, query, builder) -> {
+            if (text == null || text.isBlank()) {
+                return null;
+            }
+            return builder.isTrue(
+                builder.function(
+                    "publication_search_matches",
+                    Boolean.class,
+                    root.get("name"),
+                    root.get("description"),
+                    builder.literal(text.trim())
+                )
+            );
+        };
+    }
+
+    // Ordena por relevancia del texto buscado y, a igual relevancia, por fecha de publicación.
+    // No se aplica a la consulta COUNT de la paginación.
+    public static Specification<Publication> orderByTextRank(String text) {
+        return (root, query, builder) -> {
+            if (text == null || text.isBlank() || Long.class.equals(query.getResultType())) {
+                return null;
+            }
+            query.orderBy(
+                builder.desc(builder.function(
+                    "publication_search_rank",
+                    Double.class,
+                    root.get("name"),
+                    root.get("description"),
+                    builder.literal(text.trim())
+                )),
+                builder.desc(root.get("publicationDate"))
+            );
+            return null;
+        };
+    }
+
+    // Keyset para el orden (publicationDate DESC, id DESC): filas estrictamente posteriores al cursor.
+    public static Specification<Publication> publishedBefore(LocalDateTime publicationDate, Long id) {
+        return (root, query, builder) -> {
+            if (publicationDate == null || id == null) {
+                return null;
+            }
+            return builder.or(
+                    builder.lessThan(root.get("publicationDate"), publicationDate),
+                    builder.and(
+                            builder.equal(root.get("publicationDate"), publicationDate),
+                            builder.lessThan(root.get("id"), id)
+                    )
+            );
+        };
+    }
+
     public static Specification<Publication> vendorAccountStatusIs(String status) {
         return (root, query, builder) ->
                 status == null ? null : builder.equal(root.get("vendor").get("accountStatus"), status);
@@ -0,0 +1,34 @@
+-- =========================================================
+--  V10: contador de reportes por incidencia
+--  El umbral de reportes se evalúa con incidences.report_count en lugar de cargar
+--  toda la colección de reportes. Lo mantiene un trigger, así cuenta igual los reportes
+--  insertados por JPA, por el sistema o por lotes JDBC.
+-- =========================================================
+ALTER TABLE incidences ADD COLUMN report_count INT NOT NULL DEFAULT 0;
+
+UPDATE incidences i
+SET report_count = r.total
+FROM (
+    SELECT incidence_id, COUNT(*) AS total
+    FROM reports
+    GROUP BY incidence_id
+) r
+WHERE r.incidence_id = i.id;
+
+-- El UPDATE toma el bloqueo de fila de la incidencia: reportes concurrentes se serializan
+-- sobre el contador y ninguno se pierde.
+CREATE OR REPLACE FUNCTION sync_incidence_report_count()
+    RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE incidences SET report_count = report_count + 1 WHERE id = NEW.incidence_id;
+    ELSE
+        UPDATE incidences SET report_count = report_count - 1 WHERE id = OLD.incidence_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_reports_incidence_count
+    AFTER INSERT OR DELETE ON reports
+    FOR EACH ROW EXECUTE FUNCTION sync_incidence_report_count();
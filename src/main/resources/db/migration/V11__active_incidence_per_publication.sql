@@ -0,0 +1,23 @@
+-- =========================================================
+--  V11: una sola incidencia activa por publicación
+--  IncidenceRepository.upsertActiveIncidence usa este índice como árbitro de
+--  INSERT ... ON CONFLICT, de modo que una ráfaga de reportes sobre la misma
+--  publicación no puede abrir incidencias duplicadas.
+-- =========================================================
+
+-- Si ya hay duplicados se conserva la incidencia activa más reciente y el resto se cierra.
+UPDATE incidences i
+SET status = 'RESOLVED',
+    auto_closed = true
+WHERE i.status IN ('OPEN', 'PENDING_REVIEW', 'UNDER_REVIEW', 'APPEALED')
+AND EXISTS (
+    SELECT 1
+    FROM incidences newer
+    WHERE newer.publication_id = i.publication_id
+    AND newer.status IN ('OPEN', 'PENDING_REVIEW', 'UNDER_REVIEW', 'APPEALED')
+    AND newer.id > i.id
+);
+
+CREATE UNIQUE INDEX ux_incidences_active_publication
+    ON incidences (publication_id)
+    WHERE status IN ('OPEN', 'PENDING_REVIEW', 'UNDER_REVIEW', 'APPEALED');
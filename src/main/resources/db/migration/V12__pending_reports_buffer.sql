@@ -0,0 +1,13 @@
+-- =========================================================
+--  V12: búfer de reportes de usuario (modo REPORT_BUFFER_ENABLED)
+--  La petición solo inserta aquí el reporte validado y responde 202; ReportBufferFlusher
+--  lo pasa a reports por lotes y evalúa el umbral de la incidencia.
+-- =========================================================
+CREATE TABLE pending_reports (
+    id BIGSERIAL PRIMARY KEY,
+    publication_id BIGINT NOT NULL,
+    reporter_id BIGINT NOT NULL,
+    reason VARCHAR(100) NOT NULL,
+    comment TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,30 @@
+-- =========================================================
+--  V14: revocación de access tokens JWT
+--  TokenRevocationService mantiene ambas tablas en memoria y las relee de forma incremental
+--  (por updated_at / created_at), así JwtAuthorizationFilter no consulta la base en cada petición.
+-- =========================================================
+
+-- Todo token del usuario emitido antes de revoked_before queda invalidado (bloqueo, desactivación).
+CREATE TABLE user_token_revocations (
+    user_id BIGINT PRIMARY KEY,
+    revoked_before TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_user_token_revocations_user
+        FOREIGN KEY (user_id)
+            REFERENCES users (id)
+            ON DELETE CASCADE
+);
+
+CREATE INDEX idx_user_token_revocations_updated ON user_token_revocations (updated_at);
+
+-- Tokens sueltos revocados por su id (claim jti), por ejemplo al cerrar sesión.
+-- Se borran cuando el token habría expirado de todas formas.
+CREATE TABLE revoked_tokens (
+    token_id VARCHAR(32) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_revoked_tokens_created ON revoked_tokens (created_at);
+CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens (expires_at);
@@ -0,0 +1,18 @@
+-- =========================================================
+--  V15: índices espacial y de texto completo de publications
+--  Están en V1, pero las bases existentes se marcan como V2/V3 (baseline) y nunca
+--  ejecutan V1. Se repiten aquí para que toda base los tenga; en una base nueva
+--  IF NOT EXISTS los deja como están.
+-- =========================================================
+
+-- Índice espacial para ST_DWithin y el orden KNN (<->) del filtro por distancia.
+CREATE INDEX IF NOT EXISTS idx_publications_location
+    ON publications USING GIST (location);
+
+-- Búsqueda de texto completo sobre nombre y descripción (parámetro q del feed).
+-- La expresión debe coincidir con PostgresSearchFunctionContributor para que se use el índice.
+CREATE INDEX IF NOT EXISTS idx_publications_search
+    ON publications USING GIN (
+        (setweight(to_tsvector('spanish', coalesce(name, '')), 'A') ||
+         setweight(to_tsvector('spanish', coalesce(description, '')), 'B'))
+    );
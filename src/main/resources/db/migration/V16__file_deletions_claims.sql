@@ -0,0 +1,7 @@
+-- =========================================================
+--  V16: reclamo de borrados en curso
+--  FileDeletionWorker marca las filas que toma (claimed_until) en una transacción corta y borra el
+--  almacenamiento fuera de ella. Si la instancia cae, la fila vuelve a estar vencida al terminar el plazo.
+-- =========================================================
+ALTER TABLE file_deletions
+    ADD COLUMN claimed_until TIMESTAMP;
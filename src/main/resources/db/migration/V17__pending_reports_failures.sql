@@ -0,0 +1,14 @@
+-- =========================================================
+--  V17: reportes del búfer que no se pudieron procesar
+--  ReportBufferFlusher vacía el búfer publicación por publicación, cada una en su transacción.
+--  Si una falla, sus filas se marcan (failed_at, last_error) y dejan de reintentarse, sin
+--  bloquear al resto; quedan en la tabla para revisarlas.
+-- =========================================================
+ALTER TABLE pending_reports
+    ADD COLUMN failed_at TIMESTAMP,
+    ADD COLUMN last_error TEXT;
+
+-- PendingReportRepository.findPendingPublicationIds / lockPublicationBatch
+CREATE INDEX idx_pending_reports_publication
+    ON pending_reports (publication_id, id)
+    WHERE failed_at IS NULL;
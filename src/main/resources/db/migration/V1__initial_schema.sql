@@ -0,0 +1,263 @@
+-- =========================================================
+--  Creación de tablas base para Marketplace_Link
+--  Compatible con PostgreSQL 16 + PostGIS
+-- =========================================================
+-- V1: esquema inicial (antes docker/init.sql)
+CREATE EXTENSION IF NOT EXISTS pgcrypto;
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+-- ======================
+-- Tabla: roles
+-- ======================
+CREATE TABLE IF NOT EXISTS roles (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) UNIQUE NOT NULL
+);
+
+-- ======================
+-- Tabla: users
+-- ======================
+CREATE TABLE users (
+    id               BIGSERIAL PRIMARY KEY,
+    cedula           VARCHAR(10)  NOT NULL,
+    username         VARCHAR(100) NOT NULL,
+    password         VARCHAR(255) NOT NULL,
+    email            VARCHAR(255) NOT NULL,
+    phone            VARCHAR(20)  NOT NULL,
+    first_name       VARCHAR(100) NOT NULL,
+    last_name        VARCHAR(100) NOT NULL,
+    gender           VARCHAR(10),
+    account_status   VARCHAR(30)  NOT NULL DEFAULT 'PENDING_VERIFICATION',
+    email_verified_at TIMESTAMP NULL,
+    created_at       TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at       TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    deleted          BOOLEAN      NOT NULL DEFAULT FALSE,
+
+    location           GEOGRAPHY(Point, 4326),
+
+    CONSTRAINT uk_user_username UNIQUE (username),
+    CONSTRAINT uk_user_email    UNIQUE (email),
+    CONSTRAINT uk_user_phone    UNIQUE (phone),
+    CONSTRAINT uk_user_cedula   UNIQUE (cedula)
+);
+
+CREATE INDEX idx_users_account_status
+    ON users (account_status);
+
+-- ======================
+-- Tabla intermedia: users_roles
+-- ======================
+CREATE TABLE IF NOT EXISTS users_roles (
+   user_id BIGINT NOT NULL,
+   role_id BIGINT NOT NULL,
+   PRIMARY KEY (user_id, role_id),
+
+   CONSTRAINT fk_users_roles_user
+       FOREIGN KEY (user_id)
+           REFERENCES users (id)
+           ON DELETE CASCADE,
+
+   CONSTRAINT fk_users_roles_role
+       FOREIGN KEY (role_id)
+           REFERENCES roles (id)
+           ON DELETE CASCADE,
+
+   CONSTRAINT uk_users_roles_user_id_role_id UNIQUE (user_id, role_id)
+);
+
+-- ======================
+-- Tabla: password_reset_token
+-- ======================
+CREATE TABLE IF NOT EXISTS password_reset_token (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    token VARCHAR(255) NOT NULL,
+    used BOOLEAN NOT NULL DEFAULT FALSE,
+    expiration TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_password_reset_token_user
+        FOREIGN KEY (user_id)
+            REFERENCES users (id)
+            ON DELETE CASCADE
+);
+
+-- ======================
+-- Tabla: email_verification_tokens
+-- ======================
+CREATE TABLE email_verification_tokens (
+                                           id          BIGSERIAL PRIMARY KEY,
+                                           user_id     BIGINT       NOT NULL,
+                                           token       VARCHAR(100) NOT NULL UNIQUE,
+                                           expires_at  TIMESTAMP    NOT NULL,
+                                           consumed_at TIMESTAMP,
+                                           CONSTRAINT fk_email_verif_user
+                                               FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_email_verif_user   ON email_verification_tokens(user_id);
+CREATE INDEX idx_email_verif_expiry ON email_verification_tokens(expires_at);
+
+-- ======================
+-- Trigger para updated_at
+-- ======================
+CREATE OR REPLACE FUNCTION update_updated_at_column()
+    RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at = NOW();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_update_users_updated_at
+    BEFORE UPDATE ON users
+    FOR EACH ROW
+EXECUTE FUNCTION update_updated_at_column();
+
+-- =========================================================
+-- Tablas para Marketplace
+-- =========================================================
+
+-- ======================
+-- Tabla: categories
+-- ======================
+CREATE TABLE IF NOT EXISTS categories (
+                                          id BIGSERIAL PRIMARY KEY,
+                                          name VARCHAR(255) NOT NULL
+    );
+
+
+-- ======================
+-- Tabla:
+-- tions
+-- ======================
+CREATE TABLE IF NOT EXISTS publications (
+    id BIGSERIAL PRIMARY KEY,
+    code VARCHAR(20) UNIQUE,
+    type VARCHAR(20) NOT NULL, -- PRODUCT or SERVICE
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    price DECIMAL(10,2) NOT NULL,
+    availability VARCHAR(20) NOT NULL  DEFAULT 'AVAILABLE', -- AVAILABLE, UNAVAILABLE
+    status VARCHAR(20) NOT NULL DEFAULT 'VISIBLE', -- VISIBLE,  UNDER_REVIEW , BLOCKED,
+    previous_status VARCHAR(20),
+    publication_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    location geography(Point, 4326), --WGS 84 empleado para sistemas GPS
+    category_id BIGINT NOT NULL,
+    vendor_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP,
+    suspended BOOLEAN DEFAULT FALSE,
+    working_hours VARCHAR(255),
+
+    CONSTRAINT fk_publications_category
+    FOREIGN KEY (category_id)
+    REFERENCES categories(id),
+
+    CONSTRAINT fk_publications_vendor
+    FOREIGN KEY (vendor_id)
+    REFERENCES users(id)
+    ON DELETE CASCADE
+    );
+
+-- Índice espacial para ST_DWithin y el orden KNN (<->) del filtro por distancia.
+CREATE INDEX IF NOT EXISTS idx_publications_location
+    ON publications USING GIST (location);
+
+-- Búsqueda de texto completo sobre nombre y descripción (parámetro q del feed).
+-- La expresión debe coincidir con PostgresSearchFunctionContributor para que se use el índice.
+CREATE INDEX IF NOT EXISTS idx_publications_search
+    ON publications USING GIN (
+        (setweight(to_tsvector('spanish', coalesce(name, '')), 'A') ||
+         setweight(to_tsvector('spanish', coalesce(description, '')), 'B'))
+    );
+
+-- ======================
+-- Tabla: publication_images
+-- ======================
+CREATE TABLE IF NOT EXISTS publication_images (
+   id BIGSERIAL PRIMARY KEY,
+   publication_id BIGINT NOT NULL,
+   path VARCHAR(255) NOT NULL,
+    CONSTRAINT fk_publication_images_publication FOREIGN KEY (publication_id)
+    REFERENCES publications(id)
+    ON DELETE CASCADE
+    );
+
+-- ======================
+-- Tabla: favorite_publications
+-- ======================
+CREATE TABLE IF NOT EXISTS favorite_publications (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    publication_id BIGINT NOT NULL,
+    deleted          BOOLEAN      NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_user_publication UNIQUE (user_id, publication_id),
+
+    CONSTRAINT fk_favorite_publications_user
+    FOREIGN KEY (user_id)
+    REFERENCES users(id)
+    ON DELETE CASCADE,
+
+    CONSTRAINT fk_favorite_publications_publication
+    FOREIGN KEY (publication_id)
+    REFERENCES publications(id)
+    ON DELETE CASCADE
+
+-- ======================
+-- Flujo de moderación
+-- ======================
+
+-- Se genera una automaticmaente cuando se reporta el producto. Es decir, se genera un reporte e incidencia como primer momento.
+CREATE TABLE incidences (
+                            id  BIGSERIAL PRIMARY KEY ,
+                            public_ui UUID NOT NULL UNIQUE DEFAULT gen_random_uuid(),
+                            publication_id BIGINT NOT NULL,
+                            status VARCHAR(20) CHECK (status IN ('OPEN', 'PENDING_REVIEW','UNDER_REVIEW','APPEALED','RESOLVED')) DEFAULT 'OPEN',
+                            created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                            auto_closed BOOLEAN DEFAULT FALSE,
+                            moderator_id BIGINT,
+                            moderator_comment TEXT,
+                            decision VARCHAR(20) CHECK (decision IN ('APPROVED','REJECTED', 'PENDING')) DEFAULT 'PENDING',
+
+                            FOREIGN KEY (publication_id) REFERENCES publications(id),
+                            FOREIGN KEY (moderator_id) REFERENCES users(id)
+);
+
+-- Mas de 3 reportes, el producto se oculta.
+CREATE TABLE reports (
+                         id BIGSERIAL PRIMARY KEY ,
+                         incidence_id BIGINT NOT NULL,
+                         reporter_id BIGINT NOT NULL,                     -- comprador que reporta o puede ser el propio sistema.
+                         reason VARCHAR(100) NOT NULL,              -- tipo de reporte
+                         comment TEXT,
+                         created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                         source VARCHAR(20) CHECK (source IN ('USER', 'SYSTEM')) DEFAULT 'USER',
+                         FOREIGN KEY (incidence_id) REFERENCES incidences(id),
+                         FOREIGN KEY (reporter_id) REFERENCES users(id)
+);
+
+-- Solo se puede apelar una vez.
+CREATE TABLE appeals (
+                         id  BIGSERIAL PRIMARY KEY ,
+                         incidence_id BIGINT NOT NULL,                          -- sigue apuntando a la incidencia, SOLO una por incidencia (UNIQUE)
+                         seller_id BIGINT NOT NULL,				 -- el vendedor que hace la apelacion
+                         reason TEXT NOT NULL,
+                         created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                         status VARCHAR(20) CHECK (
+                             status IN (
+                                        'PENDING',          -- apelación creada, esperando asignación de nuevo moderador
+                                        'ASSIGNED',         -- nuevo moderador asignado, en revisión
+                                        'FAILED_NO_MOD',    -- no hay moderadores disponibles
+                                        'REVIEWED'          -- revisión completada (decision final tomada)
+                                 )
+                             ) DEFAULT 'PENDING',
+                         new_moderator_id BIGINT,				 -- para elegir el nuevo moderador se hace cálculos en el back (puede ser nulo si no hay moderadores)
+                         final_decision VARCHAR(20) CHECK (final_decision IN ('ACCEPTED','REJECTED', 'PENDING')) DEFAULT 'PENDING',
+                         final_decision_at TIMESTAMP,
+
+                         CONSTRAINT unique_incidence UNIQUE (incidence_id),
+                         FOREIGN KEY (incidence_id) REFERENCES incidences(id),
+                         FOREIGN KEY (seller_id) REFERENCES users(id),
+                         FOREIGN KEY (new_moderator_id) REFERENCES users(id)
+);
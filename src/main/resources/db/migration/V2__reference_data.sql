@@ -0,0 +1,60 @@
+-- =========================================================
+--  V2: datos de referencia necesarios en todos los entornos
+--  (roles, usuario del sistema y categorías)
+-- =========================================================
+
+-- ======================
+-- ROLES
+-- ======================
+INSERT INTO roles (name) VALUES
+                             ('ROLE_ADMIN'),
+                             ('ROLE_MODERATOR'),
+                             ('ROLE_SELLER'),
+                             ('ROLE_BUYER'),
+                             ('ROLE_SYSTEM')
+ON CONFLICT (name) DO NOTHING;
+
+-- =====================================
+-- USUARIO DEL SISTEMA (reportes automáticos)
+-- =====================================
+
+-- Usuario del sistema → Parque Juan Montalvo
+INSERT INTO users (
+    cedula, username, password, email, phone, first_name, last_name, gender,
+    account_status, email_verified_at, location
+) VALUES (
+             '9999999999',
+             'system_user',
+             crypt('system123', gen_salt('bf', 12)),
+             'system@marketplace.local',
+             '+0000000000',
+             'System',
+             'Bot',
+             'OTHER',
+             'ACTIVE',
+             NOW(),
+             ST_SetSRID(ST_MakePoint(-78.62935, -1.24222), 4326)
+         ) ON CONFLICT (username) DO NOTHING;
+
+-- Rol del sistema
+INSERT INTO users_roles (user_id, role_id)
+VALUES (
+           (SELECT id FROM users WHERE username = 'system_user'),
+           (SELECT id FROM roles WHERE name = 'ROLE_SYSTEM')
+       ) ON CONFLICT (user_id, role_id) DO NOTHING;
+
+
+-- ======================
+-- Inserción de categorías iniciales
+-- ======================
+INSERT INTO categories (name) VALUES
+                                  ('Electrónica'),
+                                  ('Hogar'),
+                                  ('Ropa'),
+                                  ('Deportes'),
+                                  ('Belleza y Salud'),
+                                  ('Automotriz'),
+                                  ('Alimentos y Bebidas'),
+                                  ('Servicios Profesionales'),
+                                  ('Transporte'),
+                                  ('Educación');
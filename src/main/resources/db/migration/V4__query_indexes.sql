@@ -0,0 +1,74 @@
+-- =========================================================
+--  V4: índices compuestos y parciales para las consultas más frecuentes
+--  Cada índice indica la consulta del repositorio a la que da servicio.
+-- =========================================================
+
+-- ======================
+-- publications
+-- ======================
+
+-- Feed público (PublicationService.getAll / getFeed):
+-- status = 'VISIBLE' AND deleted_at IS NULL AND suspended = false
+-- ORDER BY publication_date DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_publications_feed
+    ON publications (publication_date DESC, id DESC)
+    WHERE status = 'VISIBLE' AND deleted_at IS NULL AND suspended = false;
+
+-- Feed público filtrado por categoría (hasAnyCategory)
+CREATE INDEX IF NOT EXISTS idx_publications_feed_category
+    ON publications (category_id, publication_date DESC)
+    WHERE status = 'VISIBLE' AND deleted_at IS NULL AND suspended = false;
+
+-- Publicaciones de un vendedor (getAllByVendor, findAllByVendorIdAndDeletedAtIsNull)
+CREATE INDEX IF NOT EXISTS idx_publications_vendor
+    ON publications (vendor_id, publication_date DESC)
+    WHERE deleted_at IS NULL;
+
+-- ======================
+-- publication_images / favorite_publications
+-- ======================
+
+-- Carga de imágenes por publicación (findByIdWithImages, firstImage)
+CREATE INDEX IF NOT EXISTS idx_publication_images_publication
+    ON publication_images (publication_id);
+
+-- Borrado/restauración de favoritos por publicación (softDeleteAllByPublicationId, restoreAllByPublicationId)
+CREATE INDEX IF NOT EXISTS idx_favorite_publications_publication
+    ON favorite_publications (publication_id);
+
+-- ======================
+-- incidences
+-- ======================
+
+-- Incidencia activa de una publicación (findByPublicationIdAndStatusIn)
+CREATE INDEX IF NOT EXISTS idx_incidences_publication_status
+    ON incidences (publication_id, status);
+
+-- Cola de incidencias sin revisar (findAllUnreviewedWithDetails*), paginada por id DESC
+CREATE INDEX IF NOT EXISTS idx_incidences_unreviewed
+    ON incidences (id DESC)
+    WHERE moderator_id IS NULL AND decision = 'PENDING' AND status IN ('OPEN', 'PENDING_REVIEW');
+
+-- Incidencias de un moderador (findAllReviewedWithDetails*, fetchStatsById, findLeastBusyModeratorOrAdminExcludingId)
+CREATE INDEX IF NOT EXISTS idx_incidences_moderator
+    ON incidences (moderator_id, created_at);
+
+-- ======================
+-- reports
+-- ======================
+
+-- Reportes de una incidencia y su último reporte (bulkAutoClose)
+CREATE INDEX IF NOT EXISTS idx_reports_incidence
+    ON reports (incidence_id, created_at);
+
+-- Último reporte de un usuario (findLastReportByReporterIdAndPublicationId, findPublicationIdsReportedByReporterSince)
+CREATE INDEX IF NOT EXISTS idx_reports_reporter
+    ON reports (reporter_id, created_at DESC);
+
+-- ======================
+-- appeals
+-- ======================
+
+-- Apelaciones asignadas a un moderador (findAppealsByUserId, findAllAssignedByModerator)
+CREATE INDEX IF NOT EXISTS idx_appeals_new_moderator
+    ON appeals (new_moderator_id, status);
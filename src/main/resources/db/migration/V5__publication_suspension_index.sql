@@ -0,0 +1,7 @@
+-- =========================================================
+--  V5: índice para el job de suspensión (PublicationRepository.suspendBatchPublishedBefore)
+--  publication_date < :cutoff AND suspended = false
+-- =========================================================
+CREATE INDEX IF NOT EXISTS idx_publications_unsuspended_date
+    ON publications (publication_date)
+    WHERE suspended = false;
@@ -0,0 +1,209 @@
+-- =========================================================
+--  V6: diccionario de palabras peligrosas en base de datos
+--  DangerousContentDetectedService reconstruye el buscador cuando cambia
+--  dangerous_dictionary.version, sin reiniciar la aplicación.
+-- =========================================================
+
+CREATE TABLE dangerous_words (
+    id BIGSERIAL PRIMARY KEY,
+    term VARCHAR(100) NOT NULL UNIQUE,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Fila única con la versión vigente del diccionario.
+CREATE TABLE dangerous_dictionary (
+    id SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    version BIGINT NOT NULL DEFAULT 1,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO dangerous_dictionary (id, version) VALUES (1, 1);
+
+-- Cualquier cambio en dangerous_words incrementa la versión.
+CREATE OR REPLACE FUNCTION bump_dangerous_dictionary_version()
+    RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE dangerous_dictionary
+    SET version = version + 1,
+        updated_at = CURRENT_TIMESTAMP
+    WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Términos iniciales (antes en dangerous-words-dictionary.txt)
+INSERT INTO dangerous_words (term) VALUES
+    ('arm'),
+    ('pistol'),
+    ('rifl'),
+    ('revolver'),
+    ('escopet'),
+    ('fusil'),
+    ('bal'),
+    ('municion'),
+    ('cartuch'),
+    ('granad'),
+    ('bomb'),
+    ('explosiv'),
+    ('cuchill'),
+    ('navaj'),
+    ('machet'),
+    ('puñal'),
+    ('detonador'),
+    ('dinamit'),
+    ('gatill'),
+    ('francotirador'),
+    ('bazuca'),
+    ('misil'),
+    ('cañon'),
+    ('asesin'),
+    ('mat'),
+    ('muer'),
+    ('homicid'),
+    ('suicid'),
+    ('violenc'),
+    ('golp'),
+    ('pele'),
+    ('luch'),
+    ('dispar'),
+    ('tiroteo'),
+    ('sangr'),
+    ('herid'),
+    ('her'),
+    ('estrangular'),
+    ('ahorcar'),
+    ('decapitar'),
+    ('degoll'),
+    ('enven'),
+    ('venen'),
+    ('tortur'),
+    ('agredir'),
+    ('ataqu'),
+    ('atentad'),
+    ('terror'),
+    ('terrorist'),
+    ('secuestr'),
+    ('extorsion'),
+    ('chantaj'),
+    ('amenaz'),
+    ('drog'),
+    ('marihuan'),
+    ('cocain'),
+    ('crack'),
+    ('heroin'),
+    ('lsd'),
+    ('anfetamin'),
+    ('metanfetamin'),
+    ('opio'),
+    ('hachis'),
+    ('porr'),
+    ('cigarr'),
+    ('alcoh'),
+    ('licor'),
+    ('cervez'),
+    ('vodk'),
+    ('ron'),
+    ('whisk'),
+    ('tequil'),
+    ('borrach'),
+    ('ebri'),
+    ('narco'),
+    ('trafic'),
+    ('contraband'),
+    ('corrupcion'),
+    ('soborn'),
+    ('coim'),
+    ('fraud'),
+    ('estaf'),
+    ('hack'),
+    ('hacker'),
+    ('pirat'),
+    ('malwar'),
+    ('virus'),
+    ('ransomwar'),
+    ('phishing'),
+    ('porn'),
+    ('sex'),
+    ('erot'),
+    ('desnud'),
+    ('nude'),
+    ('violacion'),
+    ('abus'),
+    ('acoso'),
+    ('pedofil'),
+    ('incest'),
+    ('zoofil'),
+    ('prostit'),
+    ('proxenet'),
+    ('burdel'),
+    ('masturb'),
+    ('sado'),
+    ('bdsm'),
+    ('fetich'),
+    ('racis'),
+    ('nazis'),
+    ('odio'),
+    ('homofob'),
+    ('discrimin'),
+    ('xenofob'),
+    ('antisemit'),
+    ('blasfem'),
+    ('herej'),
+    ('bruj'),
+    ('hechicer'),
+    ('satan'),
+    ('demon'),
+    ('diabl'),
+    ('infiern'),
+    ('cult'),
+    ('sect'),
+    ('ritual'),
+    ('sacrific'),
+    ('maldic'),
+    ('maldit'),
+    ('tont'),
+    ('idiot'),
+    ('imbecil'),
+    ('estupid'),
+    ('burro'),
+    ('inutil'),
+    ('asqueros'),
+    ('basur'),
+    ('mierd'),
+    ('pendej'),
+    ('malparid'),
+    ('cabron'),
+    ('put'),
+    ('maricon'),
+    ('verga'),
+    ('coñ'),
+    ('gilipoll'),
+    ('ass'),
+    ('bitch'),
+    ('bastard'),
+    ('slut'),
+    ('whore'),
+    ('fool'),
+    ('moron'),
+    ('stupid'),
+    ('dumb'),
+    ('hate'),
+    ('kill'),
+    ('murder'),
+    ('weapon'),
+    ('drug'),
+    ('poison'),
+    ('toxic'),
+    ('corrupt'),
+    ('crime'),
+    ('criminal'),
+    ('illegal');
+
+CREATE TRIGGER trg_dangerous_words_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON dangerous_words
+    FOR EACH STATEMENT
+EXECUTE FUNCTION bump_dangerous_dictionary_version();
+
+-- Versión con la que el sistema generó cada reporte automático.
+ALTER TABLE reports ADD COLUMN dictionary_version BIGINT;
@@ -0,0 +1,5 @@
+-- =========================================================
+--  V7: variantes redimensionadas de las imágenes (ImageVariant)
+--  Formato de las variantes generadas (webp o jpg); NULL si la imagen solo tiene el original.
+-- =========================================================
+ALTER TABLE publication_images ADD COLUMN variant_format VARCHAR(10);
@@ -0,0 +1,6 @@
+-- =========================================================
+--  V8: las imágenes se guardan por contenido (sha256) y varias filas pueden compartir path.
+--  Conteo de referencias antes de borrar un archivo (PublicationImageRepository.isReferencedByActivePublication)
+-- =========================================================
+CREATE INDEX IF NOT EXISTS idx_publication_images_path
+    ON publication_images (path);
@@ -0,0 +1,17 @@
+-- =========================================================
+--  V9: cola (outbox) de archivos pendientes de eliminar
+--  Se inserta en la misma transacción que desvincula la imagen; FileDeletionWorker la procesa por lotes
+--  y reintenta con espera creciente hasta que el borrado se confirma.
+-- =========================================================
+CREATE TABLE file_deletions (
+    id BIGSERIAL PRIMARY KEY,
+    path VARCHAR(255) NOT NULL,
+    variant_format VARCHAR(10),
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- FileDeletionRepository.claimDueBatch: next_attempt_at <= now ORDER BY id
+CREATE INDEX idx_file_deletions_due ON file_deletions (next_attempt_at, id);
@@ -0,0 +1,207 @@
+-- =========================================================
+--  V3: datos de prueba (solo perfiles dev y test)
+--  Se carga desde classpath:db/seed
+-- =========================================================
+
+-- Admin único → Catedral de Ambato
+INSERT INTO users (
+    cedula, username, password, email, phone, first_name, last_name, gender,
+    account_status, email_verified_at, location
+) VALUES (
+             '0000000000',
+             'admin',
+             crypt('admin123', gen_salt('bf',12)),
+             'admin@example.com',
+             '+593000000000',
+             'Admin',
+             'Root',
+             'MALE',
+             'ACTIVE',
+             NOW(),
+             ST_SetSRID(ST_MakePoint(-78.628837, -1.241657), 4326)
+         ) ON CONFLICT (username) DO NOTHING;
+
+-- Otros usuarios con ubicaciones distintas en Ambato
+INSERT INTO users (
+    cedula, username, password, email, phone, first_name, last_name, gender,
+    account_status, email_verified_at, location
+) VALUES
+      -- Parque Cevallos
+      ('0202020202', 'JosueG', crypt('password123', gen_salt('bf',12)),
+       'josuegarcab2@hotmail.com', '0999000002', 'Josue', 'Garcia', 'MALE',
+       'ACTIVE', NOW(), ST_SetSRID(ST_MakePoint(-78.62712, -1.24118), 4326)),
+
+      -- Mall de los Andes
+      ('0303030303', 'JoelB', crypt('password123', gen_salt('bf',12)),
+       'pruebasjos05@gmail.com', '0999000003', 'Joel', 'Bonilla', 'MALE',
+       'ACTIVE', NOW(), ST_SetSRID(ST_MakePoint(-78.62823, -1.26510), 4326)),
+
+      -- UTA (Campus Huachi)
+      ('0404040404', 'DavidM', crypt('password123', gen_salt('bf',12)),
+       'pruebasjos07@gmail.com', '0999000004', 'David', 'Manjarres', 'MALE',
+       'ACTIVE', NOW(), ST_SetSRID(ST_MakePoint(-78.62411, -1.26901), 4326)),
+
+      -- Terminal Terrestre Ambato
+      ('0505050505', 'DavidB', crypt('password123', gen_salt('bf',12)),
+       'buyer@example.com', '0999000005', 'David', 'Barragan', 'MALE',
+       'ACTIVE', NOW(), ST_SetSRID(ST_MakePoint(-78.61652, -1.23603), 4326))
+ON CONFLICT (username) DO NOTHING;
+
+-- =====================================
+-- Asignación de roles fijos
+-- =====================================
+INSERT INTO users_roles (user_id, role_id) VALUES
+    ((SELECT id FROM users WHERE username = 'admin'),   (SELECT id FROM roles WHERE name = 'ROLE_ADMIN')), -- admin@example.com
+    ((SELECT id FROM users WHERE username = 'JosueG'),  (SELECT id FROM roles WHERE name = 'ROLE_MODERATOR')), -- josuegarcab2@hotmail.com
+    ((SELECT id FROM users WHERE username = 'JoelB'),   (SELECT id FROM roles WHERE name = 'ROLE_SELLER')), -- pruebasjos05@gmail.com
+    ((SELECT id FROM users WHERE username = 'DavidM'),  (SELECT id FROM roles WHERE name = 'ROLE_SELLER')), -- pruebasjos07@gmail.com
+    ((SELECT id FROM users WHERE username = 'DavidB'),  (SELECT id FROM roles WHERE name = 'ROLE_BUYER')) -- buyer@example.com
+ON CONFLICT (user_id, role_id) DO NOTHING;
+
+-- ======================
+-- Inserción de 2 moderadores adicionales
+-- ======================
+INSERT INTO users (cedula, username, password, email, phone, first_name, last_name, gender, account_status, email_verified_at)
+VALUES
+    ('0606060606', 'moderator_two', crypt('password123', gen_salt('bf',12)), 'josuegarcab2@gmail.com', '0999000006', 'Moderator', 'Two', 'MALE', 'ACTIVE', NOW()),
+    ('0707070707', 'moderator_three', crypt('password123', gen_salt('bf',12)), 'pruebasjos04@gmail.com', '0999000007', 'Moderator', 'Three', 'FEMALE', 'ACTIVE', NOW())
+    ON CONFLICT (username) DO NOTHING;
+
+-- ======================
+-- Asignación del rol ROLE_MODERATOR a los nuevos moderadores
+-- ======================
+INSERT INTO users_roles (user_id, role_id)
+VALUES
+    ((SELECT id FROM users WHERE username = 'moderator_two'), (SELECT id FROM roles WHERE name = 'ROLE_MODERATOR')),
+    ((SELECT id FROM users WHERE username = 'moderator_three'), (SELECT id FROM roles WHERE name = 'ROLE_MODERATOR'))
+
+
+-- ======================
+-- Inserción de publicaciones
+-- ======================
+-- NOTA: Usando coordenadas ficticias
+INSERT INTO publications (code, type, name, description, price, availability, status, location, category_id, vendor_id, working_hours)
+VALUES
+    ('PRD004', 'PRODUCT', 'Laptop Pro 15"', 'Laptop con procesador i7 y 16GB RAM', 1099.99, 'AVAILABLE', 'VISIBLE', ST_SetSRID(ST_MakePoint(-78.615124, -1.270321), 4326), 1, (SELECT id FROM users WHERE username = 'JoelB'), NULL),
+    ('PRD005', 'PRODUCT', 'Televisor 55"', 'Smart TV 4K UHD con HDR10+', 799.00, 'AVAILABLE', 'VISIBLE', ST_SetSRID(ST_MakePoint(-78.610052, -1.265012), 4326), 1, (SELECT id FROM users WHERE username = 'JoelB'), NULL),
+    ('PRD006', 'PRODUCT', 'Auriculares Bluetooth', 'Auriculares inalámbricos con cancelación de ruido', 129.99, 'AVAILABLE', 'VISIBLE', ST_SetSRID(ST_MakePoint(-78.617845, -1.264500), 4326), 1, (SELECT id FROM users WHERE username = 'JoelB'), NULL),
+    ('PRD007', 'PRODUCT', 'Mouse Gamer RGB', 'Mouse ergonómico con luces RGB y 6 botones', 39.90, 'AVAILABLE', 'VISIBLE', ST_SetSRID(ST_MakePoint(-78.624500, -1.268700), 4326), 2, (SELECT id FROM users WHERE username = 'JoelB'), NULL),
+    ('PRD008', 'PRODUCT', 'Teclado Mecánico', 'Teclado mecánico retroiluminado con switches azules', 79.90, 'AVAILABLE', 'VISIBLE', ST_SetSRID(ST_MakePoint(-78.624200, -1.268100), 4326), 2, (SELECT id FROM users WHERE username = 'JoelB'), NULL);
+
+-- ======================
+-- Inserción de imágenes de ejemplo para publicaciones
+-- ======================
+INSERT INTO publication_images (publication_id, path) VALUES
+                                                          (1, 'phone.webp'),
+                                                          (2, 'sofa.jpg'),
+                                                          (3, 'yoga.jpg'),
+                                                          (4, 'bicicleta.jpg'),
+                                                          (4, 'bicicleta2.jpg'),
+                                                          (5, 'reparacion.jpg');
+-- ======================
+-- Inserción de favoritos de prueba
+-- ======================
+INSERT INTO favorite_publications (user_id, publication_id, created_at)
+VALUES
+    ((SELECT id FROM users WHERE username = 'DavidB'), 1, NOW()),
+    ((SELECT id FROM users WHERE username = 'DavidB'), 2, NOW()),
+    ((SELECT id FROM users WHERE username = 'JoelB'), 3, NOW()),
+    ((SELECT id FROM users WHERE username = 'JosueG'), 1, NOW())
+    ON CONFLICT (user_id, publication_id) DO NOTHING;
+
+
+-- =========================================================
+-- Datos de prueba para Incidencias, Reportes y Apelaciones
+-- =========================================================
+
+-- ======================
+-- Incidencia 1: Publicación bloqueada por sistema (3 reportes automáticos)
+-- ======================
+INSERT INTO incidences (publication_id, status, moderator_id, decision, auto_closed, moderator_comment)
+VALUES
+    (1, 'RESOLVED', (SELECT id FROM users WHERE username = 'JosueG'), 'REJECTED', TRUE, 'Producto con contenido inapropiado - bloqueado automáticamente por 3 reportes')
+ON CONFLICT DO NOTHING;
+
+-- Reportes del sistema para incidencia 1
+INSERT INTO reports (incidence_id, reporter_id, reason, comment, source)
+VALUES
+    (1, (SELECT id FROM users WHERE username = 'system_user'), 'Contenido inapropiado', 'Detección automática de palabras prohibidas', 'SYSTEM'),
+    (1, (SELECT id FROM users WHERE username = 'system_user'), 'Información engañosa', 'Precio sospechoso detectado por algoritmo', 'SYSTEM'),
+    (1, (SELECT id FROM users WHERE username = 'system_user'), 'Imagen inapropiada', 'Imagen no cumple con políticas', 'SYSTEM')
+ON CONFLICT DO NOTHING;
+
+-- ======================
+-- Incidencia 2: Reportada por usuarios, bajo revisión
+-- ======================
+INSERT INTO incidences (publication_id, status, moderator_id, decision)
+VALUES
+    (2, 'UNDER_REVIEW', (SELECT id FROM users WHERE username = 'JosueG'), 'PENDING')
+ON CONFLICT DO NOTHING;
+
+-- Reportes de usuarios para incidencia 2
+INSERT INTO reports (incidence_id, reporter_id, reason, comment, source)
+VALUES
+    (2, (SELECT id FROM users WHERE username = 'DavidB'), 'Producto defectuoso', 'El producto no funciona como se describe', 'USER'),
+    (2, (SELECT id FROM users WHERE username = 'DavidM'), 'Precio incorrecto', 'El precio en la tienda física es diferente', 'USER')
+ON CONFLICT DO NOTHING;
+
+-- ======================
+-- Incidencia 3: Abierta, pendiente de asignación de moderador
+-- ======================
+INSERT INTO incidences (publication_id, status)
+VALUES
+    (3, 'OPEN')
+ON CONFLICT DO NOTHING;
+
+-- Reporte inicial para incidencia 3
+INSERT INTO reports (incidence_id, reporter_id, reason, comment, source)
+VALUES
+    (3, (SELECT id FROM users WHERE username = 'DavidB'), 'Vendedor no responde', 'Intenté contactar al vendedor sin respuesta', 'USER')
+ON CONFLICT DO NOTHING;
+
+-- ======================
+-- Incidencia 4: Con apelación pendiente
+-- ======================
+INSERT INTO incidences (publication_id, status, moderator_id, decision)
+VALUES
+    (4, 'APPEALED', (SELECT id FROM users WHERE username = 'moderator_two'), 'REJECTED')
+ON CONFLICT DO NOTHING;
+
+-- Reportes para incidencia 4
+INSERT INTO reports (incidence_id, reporter_id, reason, comment, source)
+VALUES
+    (4, (SELECT id FROM users WHERE username = 'DavidB'), 'Producto falsificado', 'La bicicleta parece ser una copia', 'USER'),
+    (4, (SELECT id FROM users WHERE username = 'DavidM'), 'Descripción engañosa', 'Las especificaciones no coinciden', 'USER')
+ON CONFLICT DO NOTHING;
+
+-- Apelación del vendedor para incidencia 4
+INSERT INTO appeals (incidence_id, seller_id, reason, status, new_moderator_id)
+VALUES
+    (4, 
+     (SELECT id FROM users WHERE username = 'JoelB'), 
+     'Mi producto es auténtico. Tengo facturas y certificados de garantía que demuestran su originalidad. Los compradores malinterpretaron la descripción.',
+     'ASSIGNED',
+     (SELECT id FROM users WHERE username = 'moderator_three'))
+ON CONFLICT DO NOTHING;
+
+-- ======================
+-- Incidencia 5: Resuelta y aprobada
+-- ======================
+INSERT INTO incidences (publication_id, status, moderator_id, decision, moderator_comment)
+VALUES
+    (5, 'RESOLVED', (SELECT id FROM users WHERE username = 'moderator_three'), 'APPROVED', 'Reporte sin fundamento. Producto cumple con políticas.')
+ON CONFLICT DO NOTHING;
+
+-- Reporte sin fundamento para incidencia 5
+INSERT INTO reports (incidence_id, reporter_id, reason, comment, source)
+VALUES
+    (5, (SELECT id FROM users WHERE username = 'DavidB'), 'No me gustó', 'El teclado no es de mi agrado', 'USER')
+ON CONFLICT DO NOTHING;
+
+-- ======================
+-- Incidencia 6: Con apelación rechazada (final)
+-- ======================
+INSERT INTO incidences (publication_id, status, moderator_id, decision, moderator_comment)
+VALUES
+    (1, 'RESOLVED', (SELECT id FROM users WHERE username = 'JosueG'), 'REJECTED', 'Después de revisar la apelación, se mantiene la decisión de bloqueo.')
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,156 @@
+package com.gpis.marketplace_link.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica con EXPLAIN que las consultas calientes usan los índices de
+ * db/migration/V4__query_indexes.sql. Requiere la base de pruebas (perfil test).
+ *
+ * Con pocos datos PostgreSQL preferiría un seq scan, por eso se desactiva
+ * dentro de la transacción del test.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class QueryIndexesExplainTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void disableSeqScan() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void publicFeedUsesPartialFeedIndex() {
+        assertUsesIndex("idx_publications_feed", """
+                SELECT p.id FROM publications p
+                WHERE p.status = 'VISIBLE' AND p.deleted_at IS NULL AND p.suspended = false
+                ORDER BY p.publication_date DESC, p.id DESC
+                LIMIT 20
+                """);
+    }
+
+    @Test
+    void publicFeedByCategoryUsesCategoryIndex() {
+        assertUsesIndex("idx_publications_feed_category", """
+                SELECT p.id FROM publications p
+                WHERE p.status = 'VISIBLE' AND p.deleted_at IS NULL AND p.suspended = false
+                  AND p.category_id = 1
+                ORDER BY p.publication_date DESC
+                LIMIT 20
+                """);
+    }
+
+    @Test
+    void vendorPublicationsUseVendorIndex() {
+        assertUsesIndex("idx_publications_vendor", """
+                SELECT p.id FROM publications p
+                WHERE p.vendor_id = 1 AND p.deleted_at IS NULL
+                ORDER BY p.publication_date DESC
+                """);
+    }
+
+    @Test
+    void activeIncidenceLookupUsesPublicationStatusIndex() {
+        // Con V11 el índice único parcial cubre exactamente este predicado y el planificador puede preferirlo
+        assertUsesAnyIndex(List.of("idx_incidences_publication_status", "ux_incidences_active_publication"), """
+                SELECT i.id FROM incidences i
+                WHERE i.publication_id = 1
+                  AND i.status IN ('OPEN', 'PENDING_REVIEW', 'UNDER_REVIEW', 'APPEALED')
+                """);
+    }
+
+    @Test
+    void unreviewedQueueUsesPartialIndex() {
+        assertUsesIndex("idx_incidences_unreviewed", """
+                SELECT i.id FROM incidences i
+                WHERE i.status IN ('OPEN', 'PENDING_REVIEW')
+                  AND i.moderator_id IS NULL
+                  AND i.decision = 'PENDING'
+                ORDER BY i.id DESC
+                LIMIT 20
+                """);
+    }
+
+    @Test
+    void lastReportByReporterUsesReporterIndex() {
+        assertUsesIndex("idx_reports_reporter", """
+                SELECT r.id FROM reports r
+                WHERE r.reporter_id = 1
+                ORDER BY r.created_at DESC
+                LIMIT 1
+                """);
+    }
+
+    @Test
+    void incidenceHistoryUsesPublicationStatusIndex() {
+        assertUsesIndex("idx_incidences_publication_status", """
+                SELECT i.id FROM incidences i
+                WHERE i.publication_id = 1 AND i.status = 'RESOLVED'
+                """);
+    }
+
+    @Test
+    void moderatorIncidencesUseModeratorIndex() {
+        assertUsesIndex("idx_incidences_moderator", """
+                SELECT i.id FROM incidences i
+                WHERE i.moderator_id = 1
+                  AND i.created_at BETWEEN TIMESTAMP '2025-01-01' AND TIMESTAMP '2025-02-01'
+                """);
+    }
+
+    @Test
+    void publicationImagesUsePublicationIndex() {
+        assertUsesIndex("idx_publication_images_publication", """
+                SELECT pi.id FROM publication_images pi
+                WHERE pi.publication_id = 1
+                """);
+    }
+
+    @Test
+    void favoritesByPublicationUsePublicationIndex() {
+        assertUsesIndex("idx_favorite_publications_publication", """
+                SELECT f.id FROM favorite_publications f
+                WHERE f.publication_id = 1 AND f.deleted = false
+                """);
+    }
+
+    @Test
+    void lastReportOfIncidenceUsesIncidenceIndex() {
+        assertUsesIndex("idx_reports_incidence", """
+                SELECT max(r.created_at) FROM reports r
+                WHERE r.incidence_id = 1
+                """);
+    }
+
+    @Test
+    void appealsAssignedToModeratorUseNewModeratorIndex() {
+        assertUsesIndex("idx_appeals_new_moderator", """
+                SELECT a.id FROM appeals a
+                WHERE a.new_moderator_id = 1 AND a.status = 'ASSIGNED'
+                """);
+    }
+
+    private void assertUsesIndex(String indexName, String sql) {
+        assertUsesAnyIndex(List.of(indexName), sql);
+    }
+
+    private void assertUsesAnyIndex(List<String> indexNames, String sql) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        String text = String.join("\n", plan);
+        assertTrue(indexNames.stream().anyMatch(text::contains),
+                () -> "Se esperaba " + String.join(" o ", indexNames) + " en el plan:\n" + text);
+    }
+}
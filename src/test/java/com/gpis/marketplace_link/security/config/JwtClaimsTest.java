@@ -0,0 +1,70 @@
+package com.gpis.marketplace_link.security.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtClaimsTest {
+
+    private static final List<String> KNOWN_ROLES = List.of("ROLE_ADMIN", "ROLE_MODERATOR", "ROLE_SELLER", "ROLE_BUYER");
+
+    @Test
+    void shouldEncodeKnownRolesAsMaskWithoutExtra() {
+        Map<String, Object> claims = JwtClaims.encode(7L, List.of("ROLE_SELLER", "ROLE_BUYER"));
+
+        assertEquals(JwtClaims.CURRENT_VERSION, claims.get(JwtClaims.VERSION));
+        assertEquals(7L, claims.get(JwtClaims.USER_ID));
+        assertEquals(0b1100, claims.get(JwtClaims.ROLES));
+        assertFalse(claims.containsKey(JwtClaims.EXTRA_ROLES));
+    }
+
+    @Test
+    void shouldRoundTripEveryCombinationOfKnownRoles() {
+        for (int mask = 0; mask < 1 << KNOWN_ROLES.size(); mask++) {
+            List<String> roles = new ArrayList<>();
+            for (int bit = 0; bit < KNOWN_ROLES.size(); bit++) {
+                if ((mask & (1 << bit)) != 0) {
+                    roles.add(KNOWN_ROLES.get(bit));
+                }
+            }
+
+            Map<String, Object> claims = JwtClaims.encode(1L, roles);
+
+            assertEquals(mask, claims.get(JwtClaims.ROLES));
+            assertEquals(roles, names(JwtClaims.decodeRoles((Integer) claims.get(JwtClaims.ROLES),
+                    claims.get(JwtClaims.EXTRA_ROLES))));
+        }
+    }
+
+    @Test
+    void shouldCarryRolesWithoutBitInExtra() {
+        Map<String, Object> claims = JwtClaims.encode(3L, List.of("ROLE_ADMIN", "ROLE_AUDITOR"));
+
+        assertEquals(0b0001, claims.get(JwtClaims.ROLES));
+        assertEquals(List.of("ROLE_AUDITOR"), claims.get(JwtClaims.EXTRA_ROLES));
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_AUDITOR"),
+                names(JwtClaims.decodeRoles(0b0001, claims.get(JwtClaims.EXTRA_ROLES))));
+    }
+
+    @Test
+    void shouldDecodeMissingClaimsAsNoRoles() {
+        assertTrue(JwtClaims.decodeRoles(null, null).isEmpty());
+        assertTrue(JwtClaims.decodeRoles(0, List.of()).isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreUnknownBitsInMask() {
+        assertEquals(List.of("ROLE_MODERATOR"), names(JwtClaims.decodeRoles(0b1_0010, null)));
+    }
+
+    private static List<String> names(List<GrantedAuthority> authorities) {
+        return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
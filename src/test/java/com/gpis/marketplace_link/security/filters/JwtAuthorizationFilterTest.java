@@ -0,0 +1,89 @@
+package com.gpis.marketplace_link.security.filters;
+
+import com.gpis.marketplace_link.security.config.JwtClaims;
+import com.gpis.marketplace_link.security.filters.VerifiedTokenCache.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static com.gpis.marketplace_link.security.config.TokenJwtConfig.SECRET_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtAuthorizationFilterTest {
+
+    private static final long ISSUED_AT = System.currentTimeMillis() / 1000 * 1000;
+    private static final long EXPIRES_AT = ISSUED_AT + 15 * 60 * 1000;
+
+    @Test
+    void shouldVerifyCurrentVersionToken() throws Exception {
+        String token = sign(JwtClaims.encode(5L, List.of("ROLE_SELLER", "ROLE_AUDITOR")), "jti-1", true);
+
+        VerifiedToken verified = JwtAuthorizationFilter.verify(token);
+
+        assertEquals(5L, verified.userId());
+        assertNull(verified.username());
+        assertEquals(List.of("ROLE_SELLER", "ROLE_AUDITOR"), names(verified));
+        assertEquals("jti-1", verified.tokenId());
+        assertEquals(ISSUED_AT, verified.issuedAtMillis());
+        assertEquals(EXPIRES_AT, verified.expiresAtMillis());
+    }
+
+    @Test
+    void shouldVerifyLegacyTokenWithoutVersion() throws Exception {
+        String token = sign(Map.of(
+                JwtClaims.LEGACY_USER_ID, 9L,
+                JwtClaims.LEGACY_AUTHORITIES, List.of("ROLE_BUYER")), null, true);
+
+        VerifiedToken verified = JwtAuthorizationFilter.verify(token);
+
+        assertEquals(9L, verified.userId());
+        assertEquals("ana@example.com", verified.username());
+        assertEquals(List.of("ROLE_BUYER"), names(verified));
+    }
+
+    @Test
+    void shouldVerifyLegacyTokenWithJsonTextAuthorities() throws Exception {
+        String token = sign(Map.of(
+                JwtClaims.LEGACY_USER_ID, 9L,
+                JwtClaims.LEGACY_AUTHORITIES, "[{\"authority\":\"ROLE_ADMIN\"}]"), null, true);
+
+        assertEquals(List.of("ROLE_ADMIN"), names(JwtAuthorizationFilter.verify(token)));
+    }
+
+    @Test
+    void shouldRejectUnknownVersion() {
+        String token = sign(Map.of(JwtClaims.VERSION, 3, JwtClaims.USER_ID, 5L, JwtClaims.ROLES, 1), null, true);
+
+        assertThrows(JwtException.class, () -> JwtAuthorizationFilter.verify(token));
+    }
+
+    @Test
+    void shouldRejectTokenWithoutExpiration() {
+        String token = sign(JwtClaims.encode(5L, List.of("ROLE_BUYER")), null, false);
+
+        assertThrows(JwtException.class, () -> JwtAuthorizationFilter.verify(token));
+    }
+
+    private static String sign(Map<String, ?> claims, String tokenId, boolean withExpiration) {
+        var builder = Jwts.builder()
+                .id(tokenId)
+                .subject("ana@example.com")
+                .claims(claims)
+                .issuedAt(new Date(ISSUED_AT));
+        if (withExpiration) {
+            builder.expiration(new Date(EXPIRES_AT));
+        }
+        return builder.signWith(SECRET_KEY).compact();
+    }
+
+    private static List<String> names(VerifiedToken verified) {
+        return verified.authorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
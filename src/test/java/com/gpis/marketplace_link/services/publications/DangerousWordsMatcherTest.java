@@ -0,0 +1,45 @@
+package com.gpis.marketplace_link.services.publications;
+
+import com.gpis.marketplace_link.services.publications.valueObjects.DangerousWordMatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DangerousWordsMatcherTest {
+
+    private final DangerousWordsMatcher matcher = DangerousWordsMatcher.of(
+            List.of("bomb", "municion", "her", "herid", "puñal", "coñ", "fusil", "fusil"));
+
+    @Test
+    void shouldMatchOnlyAtWordStart() {
+        assertTrue(matcher.containsAny("Vendo BOMBAS de agua"));
+        assertFalse(matcher.containsAny("La abomba no cuenta"));
+    }
+
+    @Test
+    void shouldFoldAccentsButKeepEnie() {
+        assertTrue(matcher.containsAny("Caja de munición"));
+        assertTrue(matcher.containsAny("Un PUÑAL antiguo"));
+        assertFalse(matcher.containsAny("Mesa con sillas"));
+    }
+
+    @Test
+    void shouldReturnOverlappingMatchesInTextOrder() {
+        List<DangerousWordMatch> matches = matcher.findAll("fusil y herida");
+
+        assertEquals(List.of(
+                new DangerousWordMatch("fusil", "fusil"),
+                new DangerousWordMatch("herida", "her"),
+                new DangerousWordMatch("herida", "herid")), matches);
+    }
+
+    @Test
+    void shouldReturnNothingForBlankText() {
+        assertTrue(matcher.findAll("  ").isEmpty());
+        assertFalse(matcher.containsAny(null));
+    }
+}